@@ -0,0 +1,92 @@
+import java.awt.GraphicsEnvironment;
+import java.awt.DisplayMode;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.Timer;
+
+/**
+ * Satu jam animasi untuk seluruh permainan: satu javax.swing.Timer seirama refresh layar yang
+ * hanya berjalan selama ada animasi aktif. Setiap animasi menerima waktu sekarang (nanodetik)
+ * lalu menghitung posisinya sendiri dari waktu, bukan dari jumlah frame, jadi frame yang
+ * terlambat tidak memperlambat gerakan. Semua pemanggilan harus dari EDT.
+ */
+public final class AnimationClock {
+
+    private static final int HZ_BAWAAN = 60;
+
+    /** Satu animasi; hasil false berarti animasi selesai dan dilepas dari jam. */
+    public interface Animation {
+        boolean tick(long now);
+    }
+
+    private final Timer timer;
+    private final long frameNanos;
+    private final List<Animation> active = new ArrayList<>();
+    private final GameMetrics metrics = GameMetrics.shared();
+    private long lastTick;
+
+    public AnimationClock() {
+        this(refreshRate());
+    }
+
+    public AnimationClock(int hz) {
+        this.frameNanos = 1_000_000_000L / hz;
+        this.timer = new Timer(Math.max(1, 1000 / hz), e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    /** Refresh rate layar utama, atau 60 Hz jika tidak diketahui (misalnya headless). */
+    public static int refreshRate() {
+        if (GraphicsEnvironment.isHeadless()) return HZ_BAWAAN;
+        int hz = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDisplayMode().getRefreshRate();
+        return hz == DisplayMode.REFRESH_RATE_UNKNOWN ? HZ_BAWAAN : hz;
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * Menambahkan animasi dan langsung menjalankan frame pertamanya, jadi gerakan pertama sudah
+     * dijadwalkan untuk di-paint pada event yang sama dengan klik, tanpa menunggu tick berikutnya.
+     */
+    public void start(Animation animation) {
+        if (!animation.tick(System.nanoTime())) return;
+        active.add(animation);
+        if (!timer.isRunning()) timer.start();
+    }
+
+    /** Menjalankan {@code action} setelah {@code nanos}, lewat jam yang sama. */
+    public void after(long nanos, Runnable action) {
+        long due = System.nanoTime() + nanos;
+        start(now -> {
+            if (now < due) return true;
+            action.run();
+            return false;
+        });
+    }
+
+    public boolean isIdle() {
+        return active.isEmpty();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTick != 0) metrics.frameTime().record(now - lastTick);
+        lastTick = now;
+        // Animasi yang ditambahkan selama tick sudah menjalankan frame pertamanya di start()
+        int n = active.size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            Animation a = active.get(i);
+            if (a.tick(now)) active.set(kept++, a);
+        }
+        for (int i = n; i < active.size(); i++) active.set(kept++, active.get(i));
+        while (active.size() > kept) active.remove(active.size() - 1);
+        if (active.isEmpty()) {
+            timer.stop();
+            lastTick = 0;
+        }
+    }
+}
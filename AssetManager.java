@@ -0,0 +1,192 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tempat semua gambar dimuat, diubah ke format yang kompatibel dengan layar dan diskalakan
+ * sebelumnya. Bidak 1.png-6.png dikemas ke satu atlas per ukuran bidak, dan gambar latar
+ * disimpan per ukuran tujuan, sehingga jalur paint hanya menyalin piksel tanpa menskalakan.
+ * Dekode berjalan paralel di thread latar lewat {@link #load(String)}; hasilnya disimpan untuk
+ * seluruh proses, jadi lobby dan permainan berikutnya tidak pernah memuat ulang file yang sama.
+ */
+public class AssetManager {
+
+    public static final int JUMLAH_BIDAK = 6;
+
+    private static AssetManager shared;
+
+    // Thread daemon untuk dekode gambar dan audio, dipakai juga oleh SoundMixer
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "aset-loader");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Map<String, CompletableFuture<BufferedImage>> originals = new ConcurrentHashMap<>();
+    private final Map<String, BufferedImage> scaled = new HashMap<>();
+    private final Map<Integer, TokenAtlas> atlases = new HashMap<>();
+
+    public static synchronized AssetManager shared() {
+        if (shared == null) shared = new AssetManager();
+        return shared;
+    }
+
+    private static GraphicsConfiguration screenConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    static BufferedImage createCompatible(int w, int h, int transparency) {
+        GraphicsConfiguration gc = screenConfiguration();
+        if (gc != null) return gc.createCompatibleImage(w, h, transparency);
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    public static Executor loader() {
+        return LOADER;
+    }
+
+    /** Mulai mendekode {@code path} di latar jika belum; pemanggil berikutnya mendapat future yang sama. */
+    public CompletableFuture<BufferedImage> load(String path) {
+        return originals.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> decode(p), LOADER));
+    }
+
+    /** Memuat semua gambar sekaligus secara paralel. */
+    public CompletableFuture<Void> preload(String... paths) {
+        CompletableFuture<?>[] all = new CompletableFuture<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) all[i] = load(paths[i]);
+        return CompletableFuture.allOf(all);
+    }
+
+    private static BufferedImage decode(String path) {
+        try {
+            File file = new File(path);
+            if (file.exists()) return ImageIO.read(file);
+        } catch (IOException e) {
+            System.err.println("Gagal memuat gambar " + path + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /** Gambar asli yang sudah didekode penuh, atau null jika file tidak ada; menunggu jika masih didekode. */
+    public BufferedImage image(String path) {
+        return load(path).join();
+    }
+
+    /** Sama seperti image(), tetapi null selama gambar masih didekode; untuk jalur paint. */
+    public BufferedImage imageIfReady(String path) {
+        CompletableFuture<BufferedImage> f = load(path);
+        return f.isDone() ? f.join() : null;
+    }
+
+    /**
+     * Gambar yang sudah diskalakan ke w x h dalam format layar. Hanya ukuran terakhir per file yang
+     * disimpan, karena latar berganti ukuran hanya saat jendela diubah ukurannya. Selama file masih
+     * didekode hasilnya null, jadi paint tidak pernah menunggu. Penskalaan berjalan di luar kunci.
+     */
+    public Image scaled(String path, int w, int h) {
+        if (w <= 0 || h <= 0) return null;
+        synchronized (this) {
+            BufferedImage cached = scaled.get(path);
+            if (cached != null && cached.getWidth() == w && cached.getHeight() == h) return cached;
+        }
+        BufferedImage src = imageIfReady(path);
+        if (src == null) return null;
+        BufferedImage img = createCompatible(w, h, src.getTransparency());
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        synchronized (this) {
+            scaled.put(path, img);
+        }
+        return img;
+    }
+
+    private static String tokenPath(int index) {
+        return "images/" + (index + 1) + ".png";
+    }
+
+    /**
+     * Atlas bidak 1.png-6.png dengan setiap bidak berukuran size x size. Tidak pernah menunggu
+     * dekode: bidak yang belum siap belum ada di atlas ({@link TokenAtlas#has} false), dan atlas
+     * seperti itu tidak disimpan. Minta atlas lagi setelah {@link TokenAtlas#ready} selesai.
+     */
+    public TokenAtlas tokens(int size) {
+        synchronized (this) {
+            TokenAtlas cached = atlases.get(size);
+            if (cached != null) return cached;
+        }
+        TokenAtlas atlas = new TokenAtlas(size);
+        if (!atlas.isComplete()) return atlas;
+        synchronized (this) {
+            return atlases.computeIfAbsent(size, s -> atlas);
+        }
+    }
+
+    /** Semua bidak dalam satu image, berjajar mendatar dengan ukuran yang sama. */
+    public final class TokenAtlas {
+        private final int size;
+        private final BufferedImage atlas;
+        private final boolean[] present = new boolean[JUMLAH_BIDAK];
+        private boolean complete = true;
+
+        private TokenAtlas(int size) {
+            this.size = size;
+            this.atlas = createCompatible(size * JUMLAH_BIDAK, size, Transparency.TRANSLUCENT);
+            Graphics2D g = atlas.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (int i = 0; i < JUMLAH_BIDAK; i++) {
+                CompletableFuture<BufferedImage> f = load(tokenPath(i));
+                if (!f.isDone()) {
+                    complete = false;
+                    continue;
+                }
+                BufferedImage src = f.join();
+                if (src == null) {
+                    System.err.println("Gagal memuat bidak: " + (i + 1) + ".png");
+                    continue;
+                }
+                g.drawImage(src, i * size, 0, size, size, null);
+                present[i] = true;
+            }
+            g.dispose();
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /** False jika ada bidak yang masih didekode saat atlas ini dibuat. */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /** Selesai setelah semua file bidak selesai didekode. */
+        public CompletableFuture<Void> ready() {
+            CompletableFuture<?>[] all = new CompletableFuture<?>[JUMLAH_BIDAK];
+            for (int i = 0; i < JUMLAH_BIDAK; i++) all[i] = load(tokenPath(i));
+            return CompletableFuture.allOf(all);
+        }
+
+        public boolean has(int index) {
+            return index >= 0 && index < JUMLAH_BIDAK && present[index];
+        }
+
+        /** Menyalin bidak ke (x, y) tanpa penskalaan. */
+        public void draw(Graphics g, int index, int x, int y) {
+            int sx = index * size;
+            g.drawImage(atlas, x, y, x + size, y + size, sx, 0, sx + size, size, null);
+        }
+    }
+}
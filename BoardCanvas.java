@@ -0,0 +1,567 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Papan permainan sebagai satu komponen di dalam JScrollPane, bisa digeser (seret) dan di-zoom
+ * (Ctrl + roda mouse). Papan dibagi menjadi ubin berisi 8x8 petak; bagian statis setiap ubin
+ * (warna, nomor, poin bonus, teks warp) digambar sekali ke image yang kompatibel dengan layar dan
+ * disimpan dalam cache LRU berbatas piksel. Setiap paint hanya menyalin ubin yang terlihat dan
+ * menggambar bidak di atasnya, jadi memori dan waktu frame tidak ikut membesar bersama papan.
+ */
+public class BoardCanvas extends JComponent implements Scrollable {
+
+    public static final int UKURAN_BIDAK = 25;
+
+    private static final int UKURAN_KOTAK = 70;
+    private static final int[] ZOOM_KOTAK = {8, 12, 18, 26, 38, 54, 70, 98, 140};
+    private static final int CELAH = 2;
+    private static final int BINGKAI = 5;
+    private static final int PETAK_PER_UBIN = 8;
+    private static final long BATAS_PIKSEL_CACHE = 8L * 1024 * 1024;
+    private static final int SISI_VIEWPORT_MAKS = 2 * BINGKAI + 8 * UKURAN_KOTAK + 7 * CELAH;
+    private static final int KOTAK_MINIMUM_TEKS = 38;
+    // Bidak ke-5 dan seterusnya di satu petak sudah di luar petak, jadi tidak digambar
+    private static final int SLOT_TERLIHAT = (UKURAN_KOTAK - 5 + 17) / 18;
+
+    private static final Color BOARD_LIGHT = new Color(0xFFE5E5);
+    private static final Color BOARD_DARK = new Color(0xFFB3BA);
+    private static final Color BOARD_BORDER = new Color(0x8B0000);
+    private static final Color PRIME_COLOR = new Color(0xFFD700);
+    private static final Color LINK_FILL = new Color(0, 255, 0, 60);
+    private static final Color LINK_SOLID = new Color(0xA8E6A1);
+    private static final Color LINK_TEXT = new Color(0, 100, 0);
+    private static final Color SNAKE_FILL = new Color(255, 0, 0, 60);
+    private static final Color SNAKE_SOLID = new Color(0xE57373);
+    private static final Color SNAKE_TEXT = new Color(0x8B0000);
+    private static final Color BONUS_TEXT = new Color(0, 120, 0);
+    private static final Font NUMBER_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font BONUS_FONT = new Font("Arial", Font.PLAIN, 10);
+
+    private final int size;
+    private BoardModel board;
+    private final AssetManager assets;
+    private final GameMetrics metrics = GameMetrics.shared();
+    private PlayerStore players = new PlayerStore(1);
+
+    private int zoomIndex;
+    private int cell;
+    private Font numberFont;
+    private Font bonusFont;
+    private AssetManager.TokenAtlas tokens;
+    // Cache ubin: slot per ubin papan, dengan cap waktu pemakaian terakhir untuk LRU
+    private final int tilesPerSide;
+    private final Image[] tileImages;
+    private final long[] tileUsed;
+    private final int[] loadedTiles;
+    private int loadedCount;
+    private long paintStamp;
+    private long cachedPixels;
+    private Minimap minimap;
+    // Bidak yang sedang berjalan di antara dua petak (satu giliran, jadi paling banyak satu bidak)
+    private int movingPlayer = -1;
+    private int moveFrom;
+    private int moveTo;
+    private float moveT;
+    private final Rectangle movingBounds = new Rectangle();
+
+    public BoardCanvas(BoardModel board, AssetManager assets) {
+        this.size = board.getSize();
+        this.board = board;
+        this.assets = assets;
+        this.tilesPerSide = (size + PETAK_PER_UBIN - 1) / PETAK_PER_UBIN;
+        this.tileImages = new Image[tilesPerSide * tilesPerSide];
+        this.tileUsed = new long[tileImages.length];
+        this.loadedTiles = new int[tileImages.length];
+        int zoom = 0;
+        while (ZOOM_KOTAK[zoom] != UKURAN_KOTAK) zoom++;
+        applyZoom(zoom);
+        setOpaque(true);
+        setAutoscrolls(true);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            private Point dragStart;
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoomAt(e.getPoint(), e.getWheelRotation() < 0 ? 1 : -1);
+                } else if (getParent() != null) {
+                    // Tanpa Ctrl, roda mouse tetap menggulir JScrollPane
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(BoardCanvas.this, e, getParent()));
+                }
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                Rectangle view = getVisibleRect();
+                view.translate(dragStart.x - e.getX(), dragStart.y - e.getY());
+                scrollRectToVisible(view);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = PlayerStore.of(players);
+        repaint();
+        if (minimap != null) minimap.resetTokens();
+    }
+
+    /** Mengganti susunan papan dengan ukuran yang sama; ubin statis akan digambar ulang. */
+    public void setBoard(BoardModel board) {
+        if (board.getSize() != size) throw new IllegalArgumentException("Ukuran papan berbeda: " + board.getSize());
+        this.board = board;
+        clearTiles();
+        repaint();
+        if (minimap != null) {
+            minimap.base = null;
+            minimap.repaint();
+        }
+    }
+
+    /** Menjadwalkan repaint hanya untuk area satu petak; petak di luar viewport dibuang oleh RepaintManager. */
+    public void repaintSquare(int square) {
+        repaint(squareX(square), squareY(square), cell, cell);
+        if (minimap != null) minimap.markDirty(square);
+    }
+
+    /**
+     * Menggambar bidak pemain ke-{@code player} di antara petak {@code from} dan {@code to} dengan
+     * kemajuan {@code t} (0..1). Hanya area lama dan baru bidak itu yang di-repaint.
+     */
+    public void setTokenMotion(int player, int from, int to, float t) {
+        if (movingPlayer >= 0) repaint(movingBounds);
+        // Titik bidak yang mulai berjalan dihapus dari minimap; selanjutnya digambar langsung
+        if (minimap != null && player != movingPlayer) {
+            if (movingPlayer >= 0 && movingPlayer < players.size()) minimap.markDirty(players.position(movingPlayer));
+            if (player < players.size()) minimap.markDirty(players.position(player));
+        }
+        movingPlayer = player;
+        moveFrom = from;
+        moveTo = to;
+        moveT = t;
+        movingBounds.setBounds(Math.round(squareX(from) + (squareX(to) - squareX(from)) * t),
+                Math.round(squareY(from) + (squareY(to) - squareY(from)) * t), cell, cell);
+        repaint(movingBounds);
+        if (minimap != null) minimap.movingTokenMoved();
+    }
+
+    /** Bidak yang bergerak kembali digambar di petaknya sendiri. */
+    public void clearTokenMotion() {
+        if (movingPlayer < 0) return;
+        repaint(movingBounds);
+        if (movingPlayer < players.size()) repaintSquare(players.position(movingPlayer));
+        movingPlayer = -1;
+        if (minimap != null) minimap.movingTokenMoved();
+    }
+
+    /** Minimap untuk papan ini; dibuat sekali dan selalu mengikuti viewport papan. */
+    public Minimap getMinimap() {
+        if (minimap == null) minimap = new Minimap();
+        return minimap;
+    }
+
+    private void applyZoom(int index) {
+        zoomIndex = index;
+        cell = ZOOM_KOTAK[index];
+        float scale = cell / (float) UKURAN_KOTAK;
+        numberFont = NUMBER_FONT.deriveFont(12f * scale);
+        bonusFont = BONUS_FONT.deriveFont(10f * scale);
+        AssetManager.TokenAtlas atlas = assets.tokens(Math.max(4, Math.round(UKURAN_BIDAK * scale)));
+        tokens = atlas;
+        if (!atlas.isComplete()) {
+            // Bidak yang masih didekode digambar sebagai titik; atlas lengkap dipasang setelah dekode selesai
+            atlas.ready().thenRun(() -> SwingUtilities.invokeLater(() -> {
+                if (tokens != atlas) return;
+                tokens = assets.tokens(atlas.getSize());
+                repaint();
+            }));
+        }
+        clearTiles();
+        if (minimap != null) minimap.resetTokens();
+        int side = boardSide();
+        setPreferredSize(new Dimension(side, side));
+        if (movingPlayer >= 0) setTokenMotion(movingPlayer, moveFrom, moveTo, moveT);
+    }
+
+    // Zoom dengan menjaga titik di bawah kursor tetap di tempat yang sama di layar
+    private void zoomAt(Point anchor, int direction) {
+        int next = Math.max(0, Math.min(ZOOM_KOTAK.length - 1, zoomIndex + direction));
+        if (next == zoomIndex) return;
+        Rectangle view = getVisibleRect();
+        double fx = anchor.x / (double) boardSide();
+        double fy = anchor.y / (double) boardSide();
+        applyZoom(next);
+        revalidate();
+        Rectangle target = new Rectangle((int) (fx * boardSide()) - (anchor.x - view.x),
+                (int) (fy * boardSide()) - (anchor.y - view.y), view.width, view.height);
+        SwingUtilities.invokeLater(() -> {
+            scrollRectToVisible(target);
+            if (minimap != null) minimap.repaint();
+        });
+        repaint();
+    }
+
+    private int boardSide() {
+        return 2 * BINGKAI + size * cell + (size - 1) * CELAH;
+    }
+
+    private void clearTiles() {
+        for (int i = 0; i < loadedCount; i++) tileImages[loadedTiles[i]] = null;
+        loadedCount = 0;
+        cachedPixels = 0;
+    }
+
+    /** Area petak {@code square} dalam koordinat kanvas pada zoom saat ini. */
+    public Rectangle squareBounds(int square) {
+        return new Rectangle(squareX(square), squareY(square), cell, cell);
+    }
+
+    private int squareX(int square) {
+        return BINGKAI + board.colOf(square) * (cell + CELAH);
+    }
+
+    private int squareY(int square) {
+        return BINGKAI + board.rowOf(square) * (cell + CELAH);
+    }
+
+    private Image tile(int tileRow, int tileCol) {
+        int key = tileRow * tilesPerSide + tileCol;
+        tileUsed[key] = paintStamp;
+        Image img = tileImages[key];
+        if (img != null) return img;
+
+        int pitch = cell + CELAH;
+        int rows = Math.min(PETAK_PER_UBIN, size - tileRow * PETAK_PER_UBIN);
+        int cols = Math.min(PETAK_PER_UBIN, size - tileCol * PETAK_PER_UBIN);
+        int w = cols * pitch;
+        int h = rows * pitch;
+        img = AssetManager.createCompatible(w, h, Transparency.OPAQUE);
+        Graphics2D g2d = (Graphics2D) img.getGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, w, h);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int number = board.squareAt(tileRow * PETAK_PER_UBIN + r, tileCol * PETAK_PER_UBIN + c);
+                paintSquare(g2d, number, c * pitch, r * pitch);
+            }
+        }
+        g2d.dispose();
+
+        // Buang ubin yang paling lama tidak terlihat sampai ada tempat; ubin paint ini tidak ikut dibuang
+        cachedPixels += (long) w * h;
+        while (cachedPixels > BATAS_PIKSEL_CACHE) {
+            int oldest = -1;
+            for (int i = 0; i < loadedCount; i++) {
+                if (tileUsed[loadedTiles[i]] < paintStamp && (oldest < 0 || tileUsed[loadedTiles[i]] < tileUsed[loadedTiles[oldest]])) oldest = i;
+            }
+            if (oldest < 0) break;
+            Image old = tileImages[loadedTiles[oldest]];
+            cachedPixels -= (long) old.getWidth(null) * old.getHeight(null);
+            tileImages[loadedTiles[oldest]] = null;
+            loadedTiles[oldest] = loadedTiles[--loadedCount];
+        }
+        tileImages[key] = img;
+        loadedTiles[loadedCount++] = key;
+        return img;
+    }
+
+    private void paintSquare(Graphics2D g2d, int number, int x, int y) {
+        g2d.setColor(board.isPrime(number) ? PRIME_COLOR : (number % 2 == 0 ? BOARD_LIGHT : BOARD_DARK));
+        g2d.fillRect(x, y, cell, cell);
+        g2d.setColor(BOARD_BORDER);
+        g2d.drawRect(x, y, cell - 1, cell - 1);
+        int target = board.getJump(number);
+        boolean snake = target != 0 && target < number;
+        if (target != 0) {
+            g2d.setColor(snake ? SNAKE_FILL : LINK_FILL);
+            g2d.fillRect(x, y, cell, cell);
+        }
+        if (cell < KOTAK_MINIMUM_TEKS) return; // terlalu kecil untuk dibaca
+        int dx = 5 * cell / UKURAN_KOTAK;
+        if (target != 0) {
+            g2d.setColor(snake ? SNAKE_TEXT : LINK_TEXT);
+            g2d.drawString((snake ? "S -> " : "X -> ") + target, x + dx, y + 45 * cell / UKURAN_KOTAK);
+        }
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(numberFont);
+        g2d.drawString(String.valueOf(number), x + dx, y + 15 * cell / UKURAN_KOTAK);
+        g2d.setFont(bonusFont);
+        g2d.setColor(BONUS_TEXT);
+        g2d.drawString("+" + board.getBonus(number) + "pts", x + dx, y + 28 * cell / UKURAN_KOTAK);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t0 = System.nanoTime();
+        paintBoard(g);
+        metrics.repaint().record(System.nanoTime() - t0);
+    }
+
+    private void paintBoard(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(Color.BLACK);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Hanya ubin yang bersinggungan dengan area clip yang disalin
+        paintStamp++;
+        int tilePx = PETAK_PER_UBIN * (cell + CELAH);
+        int tiles = tilesPerSide;
+        int firstCol = Math.max(0, (clip.x - BINGKAI) / tilePx);
+        int lastCol = Math.min(tiles - 1, (clip.x + clip.width - BINGKAI) / tilePx);
+        int firstRow = Math.max(0, (clip.y - BINGKAI) / tilePx);
+        int lastRow = Math.min(tiles - 1, (clip.y + clip.height - BINGKAI) / tilePx);
+        for (int tr = firstRow; tr <= lastRow; tr++) {
+            for (int tc = firstCol; tc <= lastCol; tc++) {
+                g.drawImage(tile(tr, tc), BINGKAI + tc * tilePx, BINGKAI + tr * tilePx, null);
+            }
+        }
+
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        float scale = cell / (float) UKURAN_KOTAK;
+        int dot = Math.max(3, Math.round(15 * scale));
+        // Hanya petak di dalam clip yang dikunjungi, dan hanya bidak yang masih terlihat di petaknya
+        int pitch = cell + CELAH;
+        int firstC = Math.max(0, (clip.x - BINGKAI) / pitch);
+        int lastC = Math.min(size - 1, (clip.x + clip.width - BINGKAI) / pitch);
+        int firstR = Math.max(0, (clip.y - BINGKAI) / pitch);
+        int lastR = Math.min(size - 1, (clip.y + clip.height - BINGKAI) / pitch);
+        Shape oldClip = g2d.getClip();
+        for (int r = firstR; r <= lastR; r++) {
+            for (int c = firstC; c <= lastC; c++) {
+                int sq = board.squareAt(r, c);
+                int slot = 0;
+                for (int i = players.firstOnSquare(sq); i >= 0 && slot < SLOT_TERLIHAT; i = players.nextOnSquare(i)) {
+                    // Bidak yang sedang berjalan tidak memakai slot di petak asalnya
+                    if (i == movingPlayer) continue;
+                    paintToken(g2d, clip, i, squareX(sq), squareY(sq), slot++, scale, dot);
+                    g2d.setClip(oldClip);
+                }
+            }
+        }
+        if (movingPlayer >= 0 && movingPlayer < players.size()) {
+            paintToken(g2d, clip, movingPlayer, movingBounds.x, movingBounds.y, 0, scale, dot);
+            g2d.setClip(oldClip);
+        }
+    }
+
+    private void paintToken(Graphics2D g2d, Rectangle clip, int i, int x, int y, int slot, float scale, int dot) {
+        if (!clip.intersects(x, y, cell, cell)) return;
+        // Bidak dipotong ke petaknya seperti saat setiap petak masih JPanel sendiri
+        g2d.clipRect(x, y, cell, cell);
+        int tx = x + Math.round((5 + slot * 18) * scale);
+        if (tokens.has(i)) {
+            tokens.draw(g2d, i, tx, y + Math.round(45 * scale));
+        } else {
+            g2d.setColor(players.color(i));
+            g2d.fillOval(tx, y + Math.round(50 * scale), dot, dot);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        int side = Math.min(boardSide(), SISI_VIEWPORT_MAKS);
+        return new Dimension(side, side);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return cell + CELAH;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    /**
+     * Gambaran kecil seluruh papan dengan kotak biru untuk area yang sedang terlihat. Setiap piksel
+     * mewakili satu petak contoh, jadi biayanya tetap berapa pun ukuran papan. Klik atau seret
+     * untuk memindahkan tampilan. Titik bidak yang diam ikut disimpan di gambar itu; saat bidak
+     * berpindah hanya petak yang kotor (dan tetangga yang titiknya bisa bertumpuk) digambar ulang
+     * lewat daftar bidak per petak, dan hanya bidak yang sedang berjalan digambar setiap paint.
+     */
+    public final class Minimap extends JComponent {
+        private static final int SISI = 160;
+        private static final int TITIK = 6;
+        // Warna petak saja
+        private BufferedImage base;
+        // base ditambah titik bidak yang diam; null berarti dibuat ulang seluruhnya
+        private BufferedImage overview;
+        private int[] dirty = new int[16];
+        private int dirtyCount;
+        private int[] nearby = new int[16];
+        private final Rectangle movingDot = new Rectangle();
+
+        private Minimap() {
+            Dimension d = new Dimension(SISI, SISI);
+            setPreferredSize(d);
+            setMinimumSize(d);
+            setMaximumSize(d);
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    centerOn(e.getPoint());
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    centerOn(e.getPoint());
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+        }
+
+        private void centerOn(Point p) {
+            double scale = boardSide() / (double) SISI;
+            Rectangle view = BoardCanvas.this.getVisibleRect();
+            BoardCanvas.this.scrollRectToVisible(new Rectangle((int) (p.x * scale) - view.width / 2,
+                    (int) (p.y * scale) - view.height / 2, view.width, view.height));
+            repaint();
+        }
+
+        // Pemain atau zoom berganti: semua titik digambar ulang di paint berikutnya
+        private void resetTokens() {
+            overview = null;
+            dirtyCount = 0;
+            repaint();
+        }
+
+        private void markDirty(int square) {
+            if (overview == null) return;
+            if (dirtyCount == dirty.length) dirty = Arrays.copyOf(dirty, dirtyCount * 2);
+            dirty[dirtyCount++] = square;
+            repaint(dot(square, new Rectangle()));
+        }
+
+        private void movingTokenMoved() {
+            Rectangle old = new Rectangle(movingDot);
+            if (movingPlayer >= 0) dot(movingBounds.x, movingBounds.y, movingDot);
+            else movingDot.setSize(0, 0);
+            if (old.equals(movingDot)) return;
+            if (!old.isEmpty()) repaint(old);
+            if (!movingDot.isEmpty()) repaint(movingDot);
+        }
+
+        private Rectangle dot(int square, Rectangle out) {
+            return dot(squareX(square), squareY(square), out);
+        }
+
+        private Rectangle dot(int x, int y, Rectangle out) {
+            double scale = SISI / (double) boardSide();
+            out.setBounds((int) ((x + cell / 2) * scale) - TITIK / 2, (int) ((y + cell / 2) * scale) - TITIK / 2, TITIK, TITIK);
+            return out;
+        }
+
+        private BufferedImage buildBase() {
+            BufferedImage img = AssetManager.createCompatible(SISI, SISI, Transparency.OPAQUE);
+            Graphics g = img.getGraphics();
+            int pixel = Math.max(1, SISI / size);
+            for (int py = 0; py < SISI; py += pixel) {
+                for (int px = 0; px < SISI; px += pixel) {
+                    int number = board.squareAt(Math.min(size - 1, py * size / SISI), Math.min(size - 1, px * size / SISI));
+                    g.setColor(board.isSnake(number) ? SNAKE_SOLID : board.hasJump(number) ? LINK_SOLID
+                            : board.isPrime(number) ? PRIME_COLOR : (number % 2 == 0 ? BOARD_LIGHT : BOARD_DARK));
+                    g.fillRect(px, py, pixel, pixel);
+                }
+            }
+            g.dispose();
+            return img;
+        }
+
+        private void buildOverview() {
+            overview = AssetManager.createCompatible(SISI, SISI, Transparency.OPAQUE);
+            Graphics g = overview.getGraphics();
+            g.drawImage(base, 0, 0, null);
+            Rectangle r = new Rectangle();
+            for (int i = 0; i < players.size(); i++) {
+                if (i != movingPlayer) paintDot(g, i, dot(players.position(i), r));
+            }
+            g.dispose();
+            dirtyCount = 0;
+        }
+
+        // Setiap petak kotor: latar di bawah titiknya dipulihkan, lalu titik semua petak yang
+        // bisa menyentuh area itu digambar lagi dalam urutan pemain, sama seperti buildOverview
+        private void updateDirty() {
+            Graphics g = overview.getGraphics();
+            double pitch = (cell + CELAH) * SISI / (double) boardSide();
+            int reach = (int) Math.ceil(TITIK / pitch) + 1;
+            Rectangle area = new Rectangle();
+            Rectangle r = new Rectangle();
+            for (int d = 0; d < dirtyCount; d++) {
+                int square = dirty[d];
+                dot(square, area);
+                g.setClip(area);
+                g.drawImage(base, 0, 0, null);
+                int row = board.rowOf(square);
+                int col = board.colOf(square);
+                int found = 0;
+                for (int y = Math.max(0, row - reach); y <= Math.min(size - 1, row + reach); y++) {
+                    for (int x = Math.max(0, col - reach); x <= Math.min(size - 1, col + reach); x++) {
+                        for (int i = players.firstOnSquare(board.squareAt(y, x)); i >= 0; i = players.nextOnSquare(i)) {
+                            if (i == movingPlayer) continue;
+                            if (found == nearby.length) nearby = Arrays.copyOf(nearby, found * 2);
+                            nearby[found++] = i;
+                        }
+                    }
+                }
+                Arrays.sort(nearby, 0, found);
+                for (int k = 0; k < found; k++) paintDot(g, nearby[k], dot(players.position(nearby[k]), r));
+            }
+            g.dispose();
+            dirtyCount = 0;
+        }
+
+        private void paintDot(Graphics g, int player, Rectangle r) {
+            g.setColor(players.color(player));
+            g.fillOval(r.x, r.y, r.width, r.height);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (base == null) {
+                base = buildBase();
+                overview = null;
+            }
+            if (overview == null) buildOverview();
+            else if (dirtyCount > 0) updateDirty();
+            g.drawImage(overview, 0, 0, null);
+            if (movingPlayer >= 0 && movingPlayer < players.size()) {
+                paintDot(g, movingPlayer, dot(movingBounds.x, movingBounds.y, new Rectangle()));
+            }
+            double scale = SISI / (double) boardSide();
+            Rectangle view = BoardCanvas.this.getVisibleRect();
+            g.setColor(Color.BLUE);
+            g.drawRect((int) (view.x * scale), (int) (view.y * scale),
+                    Math.max(2, (int) (view.width * scale) - 1), Math.max(2, (int) (view.height * scale) - 1));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Susunan papan yang tidak bisa diubah: ukuran, tujuan warp (tangga dan ular) dan poin bonus dalam
+ * array int datar, bitset bilangan prima dari saringan Eratosthenes, dan pemetaan petak ke
+ * (baris, kolom) untuk pola zig-zag. Dipakai bersama oleh engine, GUI, solver dan benchmark;
+ * semua pembacaan di jalur panas hanya indeks array tanpa boxing.
+ */
+public final class BoardModel {
+
+    // Papan bawaan hanya punya tangga; ular (warp turun) datang dari papan -Dular.board
+    private static final int[] LINK_STANDAR_DARI = {2, 5, 11, 17, 22, 34, 45};
+    private static final int[] LINK_STANDAR_KE = {13, 19, 29, 36, 41, 52, 60};
+
+    private final int size;
+    private final int finish;
+    private final int[] jump;
+    private final int[] bonus;
+    private final long[] primes;
+
+    /**
+     * @param jump  panjang finish + 1; jump[s] adalah tujuan warp dari petak s, atau 0
+     * @param bonus panjang finish + 1; poin yang didapat saat giliran berakhir di petak s
+     */
+    public BoardModel(int size, int[] jump, int[] bonus) {
+        if (size < 2) throw new IllegalArgumentException("Ukuran papan minimal 2: " + size);
+        this.size = size;
+        this.finish = size * size;
+        if (jump.length != finish + 1 || bonus.length != finish + 1) {
+            throw new IllegalArgumentException("Tabel papan harus berukuran " + (finish + 1));
+        }
+        for (int s = 1; s <= finish; s++) {
+            int to = jump[s];
+            if (to != 0 && (to < 1 || to > finish || s == finish)) {
+                throw new IllegalArgumentException("Warp tidak valid: " + s + " -> " + to);
+            }
+        }
+        rejectCycles(jump, finish);
+        this.jump = jump.clone();
+        this.bonus = bonus.clone();
+        this.primes = sieve(finish);
+    }
+
+    /** Papan ukuran x ukuran dengan pola tangga bawaan dan poin bonus acak. */
+    public static BoardModel standard(int size, RandomGenerator random) {
+        int[] jump = defaultJumps(size * size);
+        return new BoardModel(size, jump, randomBonus(size * size, jump, random));
+    }
+
+    // Pola tangga bawaan 8x8 diulang setiap 64 petak supaya papan besar punya kepadatan warp yang sama
+    public static int[] defaultJumps(int finish) {
+        int[] jump = new int[finish + 1];
+        for (int offset = 0; offset + GameEngine.FINISH_STANDAR <= finish; offset += GameEngine.FINISH_STANDAR) {
+            for (int i = 0; i < LINK_STANDAR_DARI.length; i++) {
+                jump[offset + LINK_STANDAR_DARI[i]] = offset + LINK_STANDAR_KE[i];
+            }
+        }
+        return jump;
+    }
+
+    // Poin acak 10-50 per petak, 100 di finish, 50-100 di ujung tangga
+    public static int[] randomBonus(int finish, int[] jump, RandomGenerator random) {
+        return randomBonus(finish, jump, random, 10, 50, 50, 100);
+    }
+
+    /** Poin acak {@code min}-{@code max} per petak, 100 di finish, {@code minTangga}-{@code maxTangga} di ujung tangga. */
+    public static int[] randomBonus(int finish, int[] jump, RandomGenerator random, int min, int max, int minTangga, int maxTangga) {
+        int[] points = new int[finish + 1];
+        for (int i = 1; i <= finish; i++) points[i] = min + random.nextInt(max - min + 1);
+        points[finish] = 100;
+        for (int s = 1; s <= finish; s++) {
+            if (jump[s] > s) points[jump[s]] = minTangga + random.nextInt(maxTangga - minTangga + 1);
+        }
+        return points;
+    }
+
+    /**
+     * Menulis papan sebagai teks: baris {@code ukuran n}, satu baris {@code warp dari ke} per tangga
+     * atau ular, lalu baris {@code bonus} berisi poin petak 1 sampai finish berurutan. Baris yang
+     * diawali # adalah komentar, jadi file bisa disunting tangan.
+     */
+    public void save(Path file, String... comments) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            for (String c : comments) w.write("# " + c + "\n");
+            w.write("ukuran " + size + "\n");
+            for (int s = 1; s <= finish; s++) {
+                if (jump[s] != 0) w.write("warp " + s + " " + jump[s] + "\n");
+            }
+            for (int s = 1; s <= finish; s += size) {
+                StringBuilder line = new StringBuilder("bonus");
+                for (int i = s; i < s + size; i++) line.append(' ').append(bonus[i]);
+                w.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    /** Membaca papan yang ditulis oleh {@link #save}; papan yang tidak valid ditolak dengan IOException. */
+    public static BoardModel load(Path file) throws IOException {
+        int size = 0;
+        List<int[]> warps = new ArrayList<>();
+        int[] bonus = null;
+        int filled = 0;
+        int lineNo = 0;
+        for (String raw : Files.readAllLines(file)) {
+            lineNo++;
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] f = line.split("\\s+");
+            try {
+                switch (f[0]) {
+                    case "ukuran" -> {
+                        size = Integer.parseInt(f[1]);
+                        if (size < 2) throw new IOException("Ukuran papan minimal 2 di baris " + lineNo);
+                        bonus = new int[size * size + 1];
+                    }
+                    case "warp" -> warps.add(new int[] {Integer.parseInt(f[1]), Integer.parseInt(f[2])});
+                    case "bonus" -> {
+                        if (bonus == null) throw new IOException("Baris bonus sebelum ukuran di baris " + lineNo);
+                        for (int i = 1; i < f.length; i++) {
+                            if (filled == size * size) throw new IOException("Poin bonus lebih dari " + size * size + " di baris " + lineNo);
+                            bonus[++filled] = Integer.parseInt(f[i]);
+                        }
+                    }
+                    default -> throw new IOException("Baris tidak dikenal di baris " + lineNo + ": " + f[0]);
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Baris " + lineNo + " tidak valid: " + line);
+            }
+        }
+        if (size == 0) throw new IOException("Ukuran papan tidak ada di " + file);
+        if (filled != size * size) throw new IOException("Poin bonus harus " + size * size + " petak, ada " + filled);
+        int[] jump = new int[size * size + 1];
+        for (int[] w : warps) {
+            if (w[0] < 1 || w[0] > size * size) throw new IOException("Warp di luar papan: " + w[0] + " -> " + w[1]);
+            jump[w[0]] = w[1];
+        }
+        try {
+            return new BoardModel(size, jump, bonus);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    // Warp boleh berantai (ujung satu warp adalah pangkal warp lain), tetapi tidak boleh kembali
+    // ke petak yang sudah dilewati rantai itu, karena bidak tidak akan pernah berhenti
+    private static void rejectCycles(int[] jump, int finish) {
+        byte[] state = new byte[finish + 1]; // 0 = belum, 1 = sedang ditelusuri, 2 = aman
+        for (int start = 1; start <= finish; start++) {
+            int s = start;
+            while (jump[s] != 0 && state[s] == 0) {
+                state[s] = 1;
+                s = jump[s];
+            }
+            if (jump[s] != 0 && state[s] == 1) {
+                throw new IllegalArgumentException("Siklus warp di petak " + s);
+            }
+            for (s = start; state[s] == 1; s = jump[s]) state[s] = 2;
+        }
+    }
+
+    private static long[] sieve(int n) {
+        long[] bits = new long[(n >> 6) + 1];
+        if (n < 2) return bits;
+        Arrays.fill(bits, -1L);
+        bits[0] &= ~3L; // 0 dan 1 bukan prima
+        for (int i = 2; (long) i * i <= n; i++) {
+            if ((bits[i >> 6] & (1L << i)) == 0) continue;
+            for (int j = i * i; j <= n; j += i) bits[j >> 6] &= ~(1L << j);
+        }
+        return bits;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getFinish() {
+        return finish;
+    }
+
+    /** Tujuan warp dari petak ini (lebih besar untuk tangga, lebih kecil untuk ular), atau 0 jika tidak ada. */
+    public int getJump(int square) {
+        return jump[square];
+    }
+
+    public boolean hasJump(int square) {
+        return jump[square] != 0;
+    }
+
+    public boolean isSnake(int square) {
+        return jump[square] != 0 && jump[square] < square;
+    }
+
+    public int getBonus(int square) {
+        return bonus[square];
+    }
+
+    public boolean isPrime(int square) {
+        return square >= 2 && square <= finish && (primes[square >> 6] & (1L << square)) != 0;
+    }
+
+    // Petak 1 di kiri bawah dan setiap baris berikutnya berbalik arah (zig-zag); baris 0 di atas
+    public int rowOf(int square) {
+        return size - 1 - (square - 1) / size;
+    }
+
+    public int colOf(int square) {
+        int baris = (square - 1) / size;
+        int k = (square - 1) % size;
+        return (baris & 1) == 0 ? k : size - 1 - k;
+    }
+
+    public int squareAt(int row, int col) {
+        int baris = size - 1 - row;
+        return baris * size + ((baris & 1) == 0 ? col : size - 1 - col) + 1;
+    }
+}
@@ -0,0 +1,251 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Panel kanan jendela permainan: giliran, daftar pemain, leaderboard, minimap, dadu dan tombol.
+ * Tidak bergantung pada JFrame, jadi bisa dibuat dan digambar offscreen (lihat RenderBench).
+ * Aksi tombol diteruskan ke pemanggil lewat callback.
+ */
+public class ControlPanel extends JPanel {
+
+    private static final int BARIS_LEADERBOARD = 10;
+    private static final int BARIS_PEMAIN = 8;
+
+    private final List<Player> topPlayers = new ArrayList<>();
+    private final List<JLabel> leaderboardRows = new ArrayList<>();
+    private Player[] rowPlayer = new Player[0];
+    private int[] rowPoints = new int[0];
+    private final List<JLabel> playerRows = new ArrayList<>();
+    private int[] shownPlayer = new int[0];
+    private int[] shownPosition = new int[0];
+    private boolean[] shownCurrent = new boolean[0];
+    private final JButton lemparDaduButton;
+    private final DicePanel diceDisplay;
+    private final JLabel turnLabel;
+    private final JLabel posPointLabel;
+    private final JPanel playerListPanel;
+    private final JPanel leaderboardPanel;
+
+    /**
+     * @param minimap minimap papan, atau null untuk papan kecil yang tidak memerlukannya
+     * @param speeds pilihan kecepatan animasi; 0 berarti lewati animasi
+     */
+    public ControlPanel(BoardCanvas.Minimap minimap, int[] speeds, ActionListener onRoll,
+                        IntConsumer onSpeed, Runnable onSettings, Runnable onLobby) {
+        setLayout(new BorderLayout());
+        setPreferredSize(new Dimension(280, 0));
+        setBorder(BorderFactory.createLineBorder(Color.YELLOW, 4));
+
+        JPanel innerPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                GradientPaint gradient = new GradientPaint(0, 0, new Color(0x004D40), 0, getHeight(), new Color(0x00695C));
+                g2d.setPaint(gradient);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        innerPanel.setLayout(new BoxLayout(innerPanel, BoxLayout.Y_AXIS));
+        innerPanel.setOpaque(false);
+        innerPanel.setBorder(BorderFactory.createEmptyBorder(15, 10, 15, 10));
+
+        Dimension boxSize = new Dimension(240, 180);
+
+        JPanel turnPanel = new JPanel();
+        turnPanel.setLayout(new BoxLayout(turnPanel, BoxLayout.Y_AXIS));
+        turnPanel.setOpaque(false);
+        turnPanel.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+        turnPanel.setMaximumSize(new Dimension(240, 100));
+        turnPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        turnLabel = new JLabel("Pemain 1");
+        turnLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        turnLabel.setForeground(Color.WHITE);
+        turnLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        JLabel turnTitle = new JLabel("🎯 TURN:");
+        turnTitle.setForeground(new Color(0xFFC107));
+        turnTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
+        posPointLabel = new JLabel("Posisi: 1 | Poin: 0");
+        posPointLabel.setForeground(Color.YELLOW);
+        posPointLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        turnPanel.add(turnTitle);
+        turnPanel.add(Box.createVerticalStrut(5));
+        turnPanel.add(turnLabel);
+        turnPanel.add(posPointLabel);
+        innerPanel.add(turnPanel);
+        innerPanel.add(Box.createVerticalStrut(15));
+
+        JPanel playerSection = new JPanel();
+        playerSection.setLayout(new BoxLayout(playerSection, BoxLayout.Y_AXIS));
+        playerSection.setOpaque(false);
+        playerSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+        playerSection.setMaximumSize(boxSize);
+        playerSection.setAlignmentX(Component.CENTER_ALIGNMENT);
+        playerListPanel = new JPanel();
+        playerListPanel.setLayout(new BoxLayout(playerListPanel, BoxLayout.Y_AXIS));
+        playerListPanel.setOpaque(false);
+        JLabel pTitle = new JLabel("👥 PEMAIN"); pTitle.setForeground(Color.WHITE); pTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
+        playerSection.add(pTitle); playerSection.add(playerListPanel);
+        innerPanel.add(playerSection);
+        innerPanel.add(Box.createVerticalStrut(15));
+
+        JPanel leaderSection = new JPanel();
+        leaderSection.setLayout(new BoxLayout(leaderSection, BoxLayout.Y_AXIS));
+        leaderSection.setOpaque(false);
+        leaderSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+        leaderSection.setMaximumSize(boxSize);
+        leaderSection.setAlignmentX(Component.CENTER_ALIGNMENT);
+        leaderboardPanel = new JPanel();
+        leaderboardPanel.setLayout(new BoxLayout(leaderboardPanel, BoxLayout.Y_AXIS));
+        leaderboardPanel.setOpaque(false);
+        JLabel lTitle = new JLabel("🏆 LEADERBOARD"); lTitle.setForeground(new Color(0xFFC107)); lTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
+        leaderSection.add(lTitle); leaderSection.add(leaderboardPanel);
+        innerPanel.add(leaderSection);
+        innerPanel.add(Box.createVerticalStrut(15));
+
+        if (minimap != null) {
+            minimap.setAlignmentX(Component.CENTER_ALIGNMENT);
+            minimap.setBorder(BorderFactory.createLineBorder(Color.YELLOW, 2));
+            innerPanel.add(minimap);
+            innerPanel.add(Box.createVerticalStrut(15));
+        }
+
+        diceDisplay = new DicePanel(0);
+        diceDisplay.setAlignmentX(Component.CENTER_ALIGNMENT);
+        innerPanel.add(diceDisplay);
+        innerPanel.add(Box.createVerticalStrut(15));
+
+        JPanel buttonSection = new JPanel();
+        buttonSection.setLayout(new BoxLayout(buttonSection, BoxLayout.Y_AXIS));
+        buttonSection.setOpaque(false);
+        buttonSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+        buttonSection.setMaximumSize(new Dimension(240, 220));
+        buttonSection.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        lemparDaduButton = PapanUlarTanggaGUI.createStyledButton("⚄ LEMPAR", 14);
+        lemparDaduButton.setMaximumSize(new Dimension(200, 40));
+        lemparDaduButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        lemparDaduButton.addActionListener(onRoll);
+
+        JComboBox<String> speedBox = new JComboBox<>();
+        for (int k : speeds) speedBox.addItem(k == 0 ? "Lewati animasi" : "Kecepatan " + k + "x");
+        speedBox.setMaximumSize(new Dimension(200, 30));
+        speedBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        speedBox.addActionListener(e -> onSpeed.accept(speeds[speedBox.getSelectedIndex()]));
+
+        JButton settingsBtn = PapanUlarTanggaGUI.createStyledButton("⚙️ SETTING", 14);
+        settingsBtn.setMaximumSize(new Dimension(200, 40));
+        settingsBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+        settingsBtn.addActionListener(e -> onSettings.run());
+
+        JButton lobbyBtn = PapanUlarTanggaGUI.createStyledButton("🔙 LOBBY", 14);
+        lobbyBtn.setMaximumSize(new Dimension(200, 40));
+        lobbyBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+        lobbyBtn.addActionListener(e -> onLobby.run());
+
+        buttonSection.add(lemparDaduButton); buttonSection.add(Box.createVerticalStrut(10));
+        buttonSection.add(speedBox); buttonSection.add(Box.createVerticalStrut(10));
+        buttonSection.add(settingsBtn); buttonSection.add(Box.createVerticalStrut(10));
+        buttonSection.add(lobbyBtn);
+        innerPanel.add(buttonSection);
+
+        JScrollPane scrollPane = new JScrollPane(innerPanel);
+        scrollPane.setOpaque(false);
+        scrollPane.getViewport().setOpaque(false);
+        scrollPane.setBorder(null);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    public JButton getRollButton() {
+        return lemparDaduButton;
+    }
+
+    public DicePanel getDiceDisplay() {
+        return diceDisplay;
+    }
+
+    /**
+     * Memperbarui daftar pemain, leaderboard dan label giliran untuk pemain ke-{@code current}.
+     * Daftar pemain paling banyak BARIS_PEMAIN baris; jika pemain lebih banyak, yang ditampilkan
+     * pemain yang sedang jalan dan yang berikutnya.
+     */
+    public void update(List<Player> players, int current, RankingIndex ranking) {
+        updatePlayerList(players, current);
+        updateLeaderboard(players.size(), ranking); updateTurnIndicator(players.get(current));
+    }
+
+    // Seperti leaderboard: baris dibuat sekali, teks hanya diganti jika pemain, posisi atau giliran berubah
+    private void updatePlayerList(List<Player> players, int current) {
+        int n = players.size();
+        int rows = Math.min(n, BARIS_PEMAIN);
+        if (playerRows.size() != rows) {
+            playerListPanel.removeAll();
+            playerRows.clear();
+            for (int i = 0; i < rows; i++) {
+                JPanel pnl = new JPanel(new FlowLayout(FlowLayout.CENTER));
+                pnl.setOpaque(false);
+                JLabel lbl = new JLabel();
+                pnl.add(lbl); playerListPanel.add(pnl);
+                playerRows.add(lbl);
+            }
+            shownPlayer = new int[rows];
+            Arrays.fill(shownPlayer, -1);
+            shownPosition = new int[rows];
+            shownCurrent = new boolean[rows];
+            playerListPanel.revalidate(); playerListPanel.repaint();
+        }
+        int first = n > BARIS_PEMAIN ? current : 0;
+        for (int r = 0; r < rows; r++) {
+            int i = (first + r) % n;
+            Player p = players.get(i);
+            boolean isCurrent = i == current;
+            if (shownPlayer[r] == i && shownPosition[r] == p.getPosition() && shownCurrent[r] == isCurrent) continue;
+            shownPlayer[r] = i;
+            shownPosition[r] = p.getPosition();
+            shownCurrent[r] = isCurrent;
+            JLabel lbl = playerRows.get(r);
+            lbl.setText((isCurrent ? "● " : "○ ") + p.getName() + " (Pos: " + p.getPosition() + ")");
+            lbl.setForeground(p.getColor());
+        }
+    }
+
+    private void updateTurnIndicator(Player currentPlayer) {
+        turnLabel.setText(currentPlayer.getName());
+        turnLabel.setForeground(currentPlayer.getColor());
+        posPointLabel.setText("Posisi: " + currentPlayer.getPosition() + " | Poin: " + currentPlayer.getBonusPoints());
+    }
+
+    // Baris leaderboard dibuat sekali; hanya baris yang pemain atau poinnya berubah yang diberi teks baru
+    private void updateLeaderboard(int playerCount, RankingIndex ranking) {
+        int rows = Math.min(playerCount, BARIS_LEADERBOARD);
+        if (leaderboardRows.size() != rows) {
+            leaderboardPanel.removeAll();
+            leaderboardRows.clear();
+            for (int i = 0; i < rows; i++) {
+                JPanel pnl = new JPanel(new FlowLayout(FlowLayout.CENTER));
+                pnl.setOpaque(false);
+                JLabel lbl = new JLabel();
+                lbl.setForeground((i == 0) ? Color.YELLOW : Color.WHITE);
+                pnl.add(lbl);
+                leaderboardPanel.add(pnl);
+                leaderboardRows.add(lbl);
+            }
+            rowPlayer = new Player[rows];
+            rowPoints = new int[rows];
+            leaderboardPanel.revalidate();
+        }
+        ranking.topK(rows, topPlayers);
+        for (int i = 0; i < rows; i++) {
+            Player p = topPlayers.get(i);
+            if (rowPlayer[i] == p && rowPoints[i] == p.getBonusPoints()) continue;
+            rowPlayer[i] = p;
+            rowPoints[i] = p.getBonusPoints();
+            leaderboardRows.get(i).setText((i + 1) + ". " + p.getName() + " - " + p.getBonusPoints() + " pts");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+import javax.swing.*;
+import java.awt.*;
+
+/** Dadu 80x80 di panel kontrol; nilai 0 berarti belum dilempar, merah untuk dadu mundur. */
+public class DicePanel extends JPanel {
+    private int val;
+    private boolean isRed;
+    public DicePanel(int v) {
+        this.val = v;
+        setPreferredSize(new Dimension(80, 80));
+        setMaximumSize(new Dimension(80, 80));
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+    }
+    public void setDiceValue(int v, boolean red) { this.val = v; this.isRed = red; repaint(); }
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (val == 0) {
+            g2d.setColor(Color.LIGHT_GRAY); g2d.setFont(new Font("Arial", Font.BOLD, 40));
+            FontMetrics fm = g2d.getFontMetrics();
+            g2d.drawString("?", (80 - fm.stringWidth("?"))/2, 55);
+            return;
+        }
+        g2d.setColor(isRed ? Color.RED : Color.BLACK);
+        int d = 14, m = 12, mid = 40 - (d / 2), L = m, R = 80 - m - d, T = m, B = 80 - m - d;
+        if (val == 1 || val == 3 || val == 5) g2d.fillOval(mid, mid, d, d);
+        if (val >= 2) { g2d.fillOval(R, T, d, d); g2d.fillOval(L, B, d, d); }
+        if (val >= 4) { g2d.fillOval(L, T, d, d); g2d.fillOval(R, B, d, d); }
+        if (val == 6) { g2d.fillOval(L, mid, d, d); g2d.fillOval(R, mid, d, d); }
+    }
+}
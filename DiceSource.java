@@ -0,0 +1,131 @@
+import java.util.SplittableRandom;
+
+/**
+ * Sumber lemparan dadu. Nilai positif 1..6 berarti maju, -1/-2 berarti dadu merah (peluang
+ * {@link GameEngine#PELUANG_DADU_MERAH}%). Setiap lemparan diturunkan dari satu nilai 64 bit,
+ * jadi urutan lemparan hanya bergantung pada seed. Satu instance hanya untuk satu thread; thread
+ * atau game lain mendapat aliran sendiri lewat {@link #split()} tanpa berbagi state.
+ */
+public interface DiceSource {
+
+    int roll();
+
+    /** Mengisi seluruh buffer dengan lemparan berikutnya, sama seperti memanggil roll() berulang kali. */
+    default void fill(int[] out) {
+        fill(out, 0, out.length);
+    }
+
+    default void fill(int[] out, int from, int count) {
+        for (int i = from; i < from + count; i++) out[i] = roll();
+    }
+
+    /** Aliran baru yang independen; urutannya ditentukan oleh state aliran ini saat split. */
+    DiceSource split();
+
+    // 32 bit atas menentukan dadu merah, 32 bit bawah menentukan mata dadu (perkalian, tanpa modulo)
+    static int toRoll(long bits) {
+        long hi = bits >>> 32;
+        long lo = bits & 0xFFFFFFFFL;
+        if ((hi * 100 >>> 32) < GameEngine.PELUANG_DADU_MERAH) return -(int) ((lo * 2 >>> 32) + 1);
+        return (int) ((lo * 6 >>> 32) + 1);
+    }
+
+    static Seeded seeded(long seed) {
+        return new Seeded(seed);
+    }
+
+    static Splittable splittable(long seed) {
+        return new Splittable(new SplittableRandom(seed));
+    }
+
+    /** Lemparan dari {@code source} yang dibangkitkan per blok sebesar {@code size} ke buffer int. */
+    static Batched batched(DiceSource source, int size) {
+        return new Batched(source, size);
+    }
+
+    /** Aliran SplitMix64 yang statenya bisa disimpan dan dipulihkan, untuk GameSnapshot. */
+    final class Seeded implements DiceSource {
+        private final SplitMix64 random;
+
+        private Seeded(long seed) {
+            this.random = new SplitMix64(seed);
+        }
+
+        @Override
+        public int roll() {
+            return toRoll(random.nextLong());
+        }
+
+        @Override
+        public void fill(int[] out, int from, int count) {
+            for (int i = from; i < from + count; i++) out[i] = toRoll(random.nextLong());
+        }
+
+        @Override
+        public Seeded split() {
+            return new Seeded(random.nextLong());
+        }
+
+        public long getState() {
+            return random.getState();
+        }
+
+        public void setState(long state) {
+            random.setState(state);
+        }
+    }
+
+    /** Aliran SplittableRandom untuk simulasi paralel; split() murah dan hasilnya independen. */
+    final class Splittable implements DiceSource {
+        private final SplittableRandom random;
+
+        private Splittable(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public int roll() {
+            return toRoll(random.nextLong());
+        }
+
+        @Override
+        public void fill(int[] out, int from, int count) {
+            for (int i = from; i < from + count; i++) out[i] = toRoll(random.nextLong());
+        }
+
+        @Override
+        public Splittable split() {
+            return new Splittable(random.split());
+        }
+    }
+
+    /**
+     * Mengambil lemparan dari sumber lain per blok. Sisa buffer tetap dipakai oleh panggilan
+     * berikutnya (misalnya game berikutnya di simulasi), jadi tidak ada lemparan yang dibuang.
+     */
+    final class Batched implements DiceSource {
+        private final DiceSource source;
+        private final int[] buffer;
+        private int next;
+
+        private Batched(DiceSource source, int size) {
+            this.source = source;
+            this.buffer = new int[size];
+            this.next = size;
+        }
+
+        @Override
+        public int roll() {
+            if (next == buffer.length) {
+                source.fill(buffer);
+                next = 0;
+            }
+            return buffer[next++];
+        }
+
+        @Override
+        public Batched split() {
+            return new Batched(source.split(), buffer.length);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark mikro untuk logika inti, dengan pola JMH: pemanasan, beberapa iterasi pengukuran,
+ * parameter ukuran papan dan jumlah pemain, dan hasil yang "ditelan" supaya tidak dibuang JIT.
+ * Hasil ditulis sebagai TSV yang stabil urutannya sehingga dua rilis bisa dibandingkan.
+ *
+ * <pre>
+ * java GameBenchmark run bench/rilis-baru.tsv
+ * java GameBenchmark compare bench/rilis-lama.tsv bench/rilis-baru.tsv 10
+ * </pre>
+ *
+ * Parameter bisa diganti dengan -Dbench.boards=8,100,1000 dan -Dbench.players=2,6,100,10000.
+ */
+public class GameBenchmark {
+
+    private static final int ITERASI_PEMANASAN = Integer.getInteger("bench.warmup", 3);
+    private static final int ITERASI_UKUR = Integer.getInteger("bench.iterations", 5);
+    private static final long NANOS_PER_ITERASI = Long.getLong("bench.iterationMillis", 300L) * 1_000_000L;
+
+    private static long sink;
+
+    interface Case {
+        // Menjalankan operasi sebanyak ops kali dan mengembalikan nilai yang harus dipakai
+        long run(int ops);
+    }
+
+    private final List<String> rows = new ArrayList<>();
+
+    private void measure(String name, String params, Case c) {
+        int ops = calibrate(c);
+        for (int i = 0; i < ITERASI_PEMANASAN; i++) sink += c.run(ops);
+        double[] samples = new double[ITERASI_UKUR];
+        for (int i = 0; i < ITERASI_UKUR; i++) {
+            long start = System.nanoTime();
+            sink += c.run(ops);
+            samples[i] = (double) (System.nanoTime() - start) / ops;
+        }
+        double mean = 0;
+        for (double s : samples) mean += s;
+        mean /= samples.length;
+        double var = 0;
+        for (double s : samples) var += (s - mean) * (s - mean);
+        double error = samples.length > 1 ? Math.sqrt(var / (samples.length - 1)) : 0;
+        String row = String.format("%s\t%s\t%.3f\t%.3f", name, params, mean, error);
+        rows.add(row);
+        System.out.println(row);
+    }
+
+    // Menggandakan jumlah operasi sampai satu iterasi memakan kira-kira NANOS_PER_ITERASI
+    private static int calibrate(Case c) {
+        int ops = 1;
+        while (true) {
+            long start = System.nanoTime();
+            sink += c.run(ops);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= NANOS_PER_ITERASI / 4 || ops >= 1 << 28) {
+                return (int) Math.max(1, Math.min(1 << 28, ops * (NANOS_PER_ITERASI / Math.max(1, elapsed))));
+            }
+            ops *= 2;
+        }
+    }
+
+    static List<Player> playersFor(int count, SplittableRandom random) {
+        PlayerStore players = new PlayerStore(count);
+        for (int i = 0; i < count; i++) {
+            int p = players.add("Pemain " + (i + 1), PapanUlarTanggaGUI.PLAYER_COLORS[i % PapanUlarTanggaGUI.PLAYER_COLORS.length]);
+            players.addPoints(p, random.nextInt(5000));
+        }
+        return players.asList();
+    }
+
+    private void boardBenchmarks(int size) {
+        int finish = size * size;
+        String params = "board=" + size + "x" + size;
+        SplittableRandom random = new SplittableRandom(1);
+        BoardModel board = BoardModel.standard(size, random);
+        GameEngine engine = new GameEngine(board);
+        int[] jump = BoardModel.defaultJumps(finish);
+
+        int[] starts = new int[1024];
+        int[] dice = new int[1024];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = 1 + random.nextInt(finish);
+        }
+        DiceSource.splittable(1).fill(dice);
+        GameEngine.Move move = new GameEngine.Move();
+
+        measure("moveResolve", params, ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) {
+                engine.resolveMove(starts[i & 1023], dice[i & 1023], move);
+                acc += move.getFinalPosition() + move.length();
+            }
+            return acc;
+        });
+        measure("moveLookup", params, ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) acc += engine.finalPosition(starts[i & 1023], dice[i & 1023]);
+            return acc;
+        });
+        measure("isPrime", params, ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) {
+                if (board.isPrime(starts[i & 1023])) acc++;
+            }
+            return acc;
+        });
+        measure("setupNodeBonusPoints", params, ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) {
+                acc += BoardModel.randomBonus(finish, jump, random).length;
+            }
+            return acc;
+        });
+    }
+
+    // Satu lemparan per panggilan dibandingkan dengan pengisian buffer sekaligus
+    private void diceBenchmarks() {
+        DiceSource source = DiceSource.splittable(3);
+        measure("diceRoll", "batch=1", ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) acc += source.roll();
+            return acc;
+        });
+        int[] batch = new int[256];
+        measure("diceFill", "batch=256", ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) {
+                source.fill(batch);
+                acc += batch[i & 255];
+            }
+            return acc;
+        });
+    }
+
+    private void playerBenchmarks(int count) {
+        String params = "players=" + count;
+        SplittableRandom random = new SplittableRandom(2);
+        List<Player> players = playersFor(count, random);
+        Player[] array = players.toArray(new Player[0]);
+
+        // Salinan dan pengurasan PriorityQueue seperti updateLeaderboard/checkWinner
+        measure("leaderboardOrder", params, ops -> {
+            long acc = 0;
+            for (int i = 0; i < ops; i++) {
+                PriorityQueue<Player> pq = new PriorityQueue<>(players);
+                List<Player> sorted = new ArrayList<>(players.size());
+                while (!pq.isEmpty()) sorted.add(pq.poll());
+                acc += sorted.get(0).getBonusPoints();
+            }
+            return acc;
+        });
+        measure("playerCompareTo", params, ops -> {
+            long acc = 0;
+            int n = array.length;
+            for (int i = 0; i < ops; i++) {
+                acc += array[i % n].compareTo(array[(i + 1) % n]);
+            }
+            return acc;
+        });
+        measure("playerHashCode", params, ops -> {
+            long acc = 0;
+            int n = array.length;
+            for (int i = 0; i < ops; i++) {
+                acc += array[i % n].hashCode();
+            }
+            return acc;
+        });
+        // Pengganti leaderboardOrder: satu perubahan poin lalu query peringkat di RankingIndex
+        RankingIndex ranking = new RankingIndex(players);
+        measure("rankingUpdate", params, ops -> {
+            long acc = 0;
+            int n = array.length;
+            for (int i = 0; i < ops; i++) {
+                Player p = array[i % n];
+                p.addBonusPoints((i & 1) == 0 ? 7 : -7);
+                acc += ranking.rankOf(p);
+            }
+            return acc;
+        });
+    }
+
+    // Biaya paint dengan penskalaan setiap kali dibandingkan dengan aset yang sudah disiapkan AssetManager
+    private void paintBenchmarks() {
+        AssetManager assets = AssetManager.shared();
+        BufferedImage icon = assets.image("images/1.png");
+        BufferedImage background = assets.image("images/BOS_1.png");
+        if (icon == null || background == null) {
+            System.out.println("# paint dilewati: folder images tidak ditemukan");
+            return;
+        }
+        BufferedImage target = new BufferedImage(900, 650, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        AssetManager.TokenAtlas atlas = assets.tokens(BoardCanvas.UKURAN_BIDAK);
+        int t = BoardCanvas.UKURAN_BIDAK;
+
+        measure("paintTokenScaled", "token=" + t, ops -> {
+            for (int i = 0; i < ops; i++) g.drawImage(icon, i & 511, 45, t, t, null);
+            return ops;
+        });
+        measure("paintTokenAtlas", "token=" + t, ops -> {
+            for (int i = 0; i < ops; i++) atlas.draw(g, 0, i & 511, 45);
+            return ops;
+        });
+        measure("paintBackgroundScaled", "window=900x650", ops -> {
+            for (int i = 0; i < ops; i++) g.drawImage(background, 0, 0, 900, 650, null);
+            return ops;
+        });
+        measure("paintBackgroundCached", "window=900x650", ops -> {
+            for (int i = 0; i < ops; i++) {
+                Image bg = assets.scaled("images/BOS_1.png", 900, 650);
+                g.drawImage(bg, 0, 0, null);
+            }
+            return ops;
+        });
+    }
+
+    private static int[] intList(String property, String defaults) {
+        String[] parts = System.getProperty(property, defaults).split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Integer.parseInt(parts[i].trim());
+        return values;
+    }
+
+    private static Map<String, double[]> read(Path file) throws IOException {
+        Map<String, double[]> result = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] f = line.split("\t");
+            result.put(f[0] + "\t" + f[1], new double[] {Double.parseDouble(f[2]), Double.parseDouble(f[3])});
+        }
+        return result;
+    }
+
+    // Membandingkan dua file hasil; keluar dengan kode 1 jika ada yang melambat melebihi ambang
+    private static int compare(Path oldFile, Path newFile, double thresholdPercent) throws IOException {
+        Map<String, double[]> before = read(oldFile);
+        Map<String, double[]> after = read(newFile);
+        int regressions = 0;
+        System.out.println("benchmark\tparams\tlama_ns\tbaru_ns\tperubahan%");
+        for (Map.Entry<String, double[]> e : after.entrySet()) {
+            double[] old = before.get(e.getKey());
+            if (old == null) {
+                System.out.printf("%s\t-\t%.3f\tBARU%n", e.getKey(), e.getValue()[0]);
+                continue;
+            }
+            double change = 100.0 * (e.getValue()[0] - old[0]) / old[0];
+            boolean regression = change > thresholdPercent;
+            if (regression) regressions++;
+            System.out.printf("%s\t%.3f\t%.3f\t%+.1f%s%n", e.getKey(), old[0], e.getValue()[0], change, regression ? "\tREGRESI" : "");
+        }
+        System.out.println(regressions == 0 ? "Tidak ada regresi." : regressions + " benchmark melambat lebih dari " + thresholdPercent + "%.");
+        return regressions == 0 ? 0 : 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("compare")) {
+            double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+            System.exit(compare(Paths.get(args[1]), Paths.get(args[2]), threshold));
+        }
+
+        GameBenchmark bench = new GameBenchmark();
+        System.out.println("# benchmark\tparams\tns/op\terror");
+        for (int size : intList("bench.boards", "8,100,1000")) bench.boardBenchmarks(size);
+        bench.diceBenchmarks();
+        for (int count : intList("bench.players", "2,6,100,10000")) bench.playerBenchmarks(count);
+        bench.paintBenchmarks();
+
+        if (args.length >= 2 && args[0].equals("run")) {
+            Path out = Paths.get(args[1]);
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            List<String> lines = new ArrayList<>();
+            lines.add("# java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors() + " core");
+            lines.addAll(bench.rows);
+            Files.write(out, lines);
+            System.out.println("Hasil ditulis ke " + out);
+        }
+        if (sink == 42) System.out.println();
+    }
+}
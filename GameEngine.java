@@ -0,0 +1,123 @@
+import java.util.Arrays;
+
+/**
+ * Aturan permainan Ular Tangga Prima tanpa Swing: dadu merah 20%, langkah satu per satu,
+ * pantulan di petak terakhir, warp berantai dan poin bonus dari {@link BoardModel} di petak akhir
+ * giliran. Semua gerakan sudah dihitung sebelumnya di {@link MoveTable}.
+ * PapanUlarTanggaGUI hanya menganimasikan hasil dari kelas ini, dan GameSimulator
+ * memakainya untuk memainkan banyak game sekaligus.
+ */
+public class GameEngine {
+
+    public static final int FINISH_STANDAR = 64;
+    public static final int PELUANG_DADU_MERAH = 20;
+    public static final int MAX_GILIRAN = 10_000;
+
+    private final BoardModel board;
+    private final MoveTable moves;
+    private final int finish;
+
+    public GameEngine(BoardModel board) {
+        this.board = board;
+        this.moves = new MoveTable(board);
+        this.finish = board.getFinish();
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    public MoveTable getMoveTable() {
+        return moves;
+    }
+
+    public int getFinish() {
+        return finish;
+    }
+
+    public int getWarp(int square) {
+        return board.getJump(square);
+    }
+
+    public int getBonus(int square) {
+        return board.getBonus(square);
+    }
+
+    /** Posisi akhir setelah satu lemparan, tanpa mencatat jalur; satu pembacaan MoveTable. */
+    public int finalPosition(int position, int signedSteps) {
+        return moves.finalPosition(position, signedSteps);
+    }
+
+    /** Sama seperti finalPosition, tetapi setiap petak yang dilalui dicatat ke {@code out} untuk animasi. */
+    public void resolveMove(int position, int signedSteps, Move out) {
+        moves.path(position, signedSteps, out);
+    }
+
+    /**
+     * Memainkan satu game penuh tanpa tampilan. Posisi dan poin ditulis ke {@code points}
+     * mulai dari {@code offset}; hasilnya indeks pemenang, atau -1 jika melewati MAX_GILIRAN.
+     * Jumlah giliran (lemparan) disimpan ke {@code turnsOut[0]}.
+     */
+    public int playGame(int players, DiceSource dice, int[] positions, int[] points, int offset, int[] turnsOut) {
+        for (int i = 0; i < players; i++) {
+            positions[i] = 1;
+            points[offset + i] = 0;
+        }
+        int current = 0;
+        for (int turn = 1; turn <= MAX_GILIRAN; turn++) {
+            int pos = finalPosition(positions[current], dice.roll());
+            positions[current] = pos;
+            points[offset + current] += board.getBonus(pos);
+            if (pos == finish) {
+                turnsOut[0] = turn;
+                return current;
+            }
+            current = (current + 1) % players;
+        }
+        turnsOut[0] = MAX_GILIRAN;
+        return -1;
+    }
+
+    /** Jalur satu gerakan: petak-petak yang dilalui, dan apakah petak itu hasil warp. */
+    public static final class Move {
+        private int[] squares = new int[16];
+        private boolean[] warped = new boolean[16];
+        private int length;
+        private int finalPosition;
+
+        void clear() {
+            length = 0;
+        }
+
+        // Buffer hanya membesar jika rantai warp lebih panjang dari yang pernah dilihat
+        void add(int square, boolean isWarp) {
+            if (length == squares.length) {
+                squares = Arrays.copyOf(squares, length * 2);
+                warped = Arrays.copyOf(warped, length * 2);
+            }
+            squares[length] = square;
+            warped[length] = isWarp;
+            length++;
+        }
+
+        void setFinalPosition(int finalPosition) {
+            this.finalPosition = finalPosition;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int square(int i) {
+            return squares[i];
+        }
+
+        public boolean isWarp(int i) {
+            return warped[i];
+        }
+
+        public int getFinalPosition() {
+            return finalPosition;
+        }
+    }
+}
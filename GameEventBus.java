@@ -0,0 +1,156 @@
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Aliran event permainan (giliran mulai, dadu, langkah, warp, poin, menang) lewat ring buffer
+ * yang dialokasikan sekali. Penerbit tidak pernah menunggu: setiap slot hanya berisi beberapa int,
+ * dan pelanggan yang tertinggal lebih dari kapasitas ring melompati event lama dan mencatat berapa
+ * yang terlewat. Setiap pelanggan punya thread sendiri dan menerima event per batch, sehingga UI,
+ * audio, log dan statistik tidak saling menahan, apalagi menahan EDT.
+ */
+public class GameEventBus {
+
+    public enum Type {
+        /** player, a = posisi, b = poin */
+        TURN_STARTED,
+        /** player, a = nilai dadu bertanda (negatif = dadu merah) */
+        DICE_ROLLED,
+        /** player, a = petak yang diinjak */
+        STEPPED,
+        /** player, a = petak asal, b = petak tujuan */
+        WARPED,
+        /** player, a = poin yang didapat, b = total poin */
+        POINTS_AWARDED,
+        /** player, a = jumlah giliran, b = total poin */
+        GAME_WON
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final int BATCH_MAKSIMUM = 256;
+
+    /** Pelanggan event; semua method dipanggil dari thread pelanggan itu sendiri. */
+    public interface Subscriber {
+        void onEvent(Type type, int player, int a, int b);
+
+        /** Dipanggil setelah satu batch selesai, tempat yang tepat untuk menerapkan perubahan sekaligus. */
+        default void onBatchEnd() {
+        }
+    }
+
+    private final int mask;
+    private final int[] types;
+    private final int[] players;
+    private final int[] valuesA;
+    private final int[] valuesB;
+    private final AtomicLongArray published;
+    private final AtomicLong cursor = new AtomicLong();
+    // Dibaca publish tanpa kunci; diganti utuh saat ada pelanggan baru
+    private volatile Consumer[] consumers = new Consumer[0];
+    private volatile boolean running = true;
+
+    public GameEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.types = new int[size];
+        this.players = new int[size];
+        this.valuesA = new int[size];
+        this.valuesB = new int[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) published.set(i, -1);
+    }
+
+    /** Menerbitkan satu event tanpa alokasi dan tanpa menunggu pelanggan. */
+    public void publish(Type type, int player, int a, int b) {
+        long seq = cursor.getAndIncrement();
+        int slot = (int) (seq & mask);
+        published.set(slot, -1); // tandai sedang ditulis supaya pembaca tidak memakai isi setengah jadi
+        // Tanpa fence, tulisan isi di bawah boleh terlihat lebih dulu daripada tanda -1 di atas
+        VarHandle.storeStoreFence();
+        types[slot] = type.ordinal();
+        players[slot] = player;
+        valuesA[slot] = a;
+        valuesB[slot] = b;
+        published.set(slot, seq);
+        // Pelanggan yang tidur dibangunkan; yang sedang bekerja akan melihat event ini sendiri
+        for (Consumer c : consumers) {
+            if (c.waiting) LockSupport.unpark(c.thread);
+        }
+    }
+
+    public synchronized void subscribe(String name, Subscriber subscriber) {
+        Consumer c = new Consumer(subscriber, cursor.get());
+        c.thread = new Thread(c, "event-" + name);
+        c.thread.setDaemon(true);
+        Consumer[] next = Arrays.copyOf(consumers, consumers.length + 1);
+        next[next.length - 1] = c;
+        consumers = next;
+        c.thread.start();
+    }
+
+    public void shutdown() {
+        running = false;
+        for (Consumer c : consumers) LockSupport.unpark(c.thread);
+    }
+
+    /** Jumlah event yang terlewat oleh semua pelanggan karena tertinggal. */
+    public synchronized long droppedEvents() {
+        long total = 0;
+        for (Consumer c : consumers) total += c.dropped;
+        return total;
+    }
+
+    private final class Consumer implements Runnable {
+        private final Subscriber subscriber;
+        private Thread thread;
+        private long next;
+        private volatile long dropped;
+        // True selama thread akan atau sedang park; publish hanya memanggil unpark jika true
+        private volatile boolean waiting;
+
+        Consumer(Subscriber subscriber, long start) {
+            this.subscriber = subscriber;
+            this.next = start;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int handled = 0;
+                while (handled < BATCH_MAKSIMUM && poll()) handled++;
+                if (handled > 0) {
+                    subscriber.onBatchEnd();
+                } else {
+                    // Tanda dipasang dulu lalu ring dicek lagi, jadi event yang terbit di antaranya tidak terlewat
+                    waiting = true;
+                    if (running && published.get((int) (next & mask)) < next) LockSupport.park(this);
+                    waiting = false;
+                }
+            }
+        }
+
+        private boolean poll() {
+            int slot = (int) (next & mask);
+            long seq = published.get(slot);
+            if (seq < next) return false; // belum diterbitkan, atau sedang ditulis
+            if (seq > next) {
+                // Tertinggal satu putaran ring atau lebih; lompat ke event tertua yang masih ada
+                long oldest = Math.max(next, cursor.get() - mask);
+                dropped += oldest - next;
+                next = oldest;
+                return true;
+            }
+            int type = types[slot];
+            int player = players[slot];
+            int a = valuesA[slot];
+            int b = valuesB[slot];
+            VarHandle.acquireFence();
+            if (published.get(slot) != seq) return true; // tertimpa saat dibaca, coba lagi di posisi baru
+            next++;
+            subscriber.onEvent(TYPES[type], player, a, b);
+            return true;
+        }
+    }
+}
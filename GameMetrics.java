@@ -0,0 +1,276 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.NotificationEmitter;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.swing.SwingUtilities;
+
+/**
+ * Metrik permainan dan runtime untuk satu proses, didaftarkan sebagai MBean
+ * {@code UlarTangga:type=GameMetrics} di platform MBeanServer. Penghitung memakai LongAdder
+ * dan latensi memakai LatencyHistogram, jadi pencatatan di jalur panas hanya satu increment
+ * tanpa lock. Untuk dipantau dari mesin lain, jalankan JVM dengan
+ * {@code -Dcom.sun.management.jmxremote.port=9010} (dan pengaturan autentikasi kios).
+ */
+public final class GameMetrics implements GameMetricsMBean {
+
+    public static final String NAMA_MBEAN = "UlarTangga:type=GameMetrics";
+    private static final long JEDA_PROBE_EDT_MS = 100;
+
+    private static GameMetrics shared;
+
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder warps = new LongAdder();
+    private final LongAdder redDice = new LongAdder();
+    private final LongAdder bonusPoints = new LongAdder();
+    private final LongAdder gamesWon = new LongAdder();
+    private final LatencyHistogram soundEffectLatency = new LatencyHistogram();
+    private final LatencyHistogram repaint = new LatencyHistogram();
+    private final LatencyHistogram edtQueueDelay = new LatencyHistogram();
+    private final LatencyHistogram clickToMotion = new LatencyHistogram();
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+    private final LatencyHistogram panelUpdate = new LatencyHistogram();
+    private final LatencyHistogram gcPause = new LatencyHistogram();
+    private Thread edtProbe;
+    private boolean gcMonitor;
+
+    private GameMetrics() {
+    }
+
+    /** Instance bersama; didaftarkan ke JMX saat pertama kali diminta. */
+    public static synchronized GameMetrics shared() {
+        if (shared == null) {
+            shared = new GameMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(shared, new ObjectName(NAMA_MBEAN));
+            } catch (JMException e) {
+                System.err.println("Gagal mendaftarkan MBean metrik: " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    /** Mencatat satu event permainan; dipasang sebagai subscriber GameEventBus. */
+    public void onEvent(GameEventBus.Type type, int a) {
+        switch (type) {
+            case DICE_ROLLED:
+                turns.increment();
+                if (a < 0) redDice.increment();
+                break;
+            case STEPPED: steps.increment(); break;
+            case WARPED: warps.increment(); break;
+            case POINTS_AWARDED: bonusPoints.add(a); break;
+            case GAME_WON: gamesWon.increment(); break;
+            default: break;
+        }
+    }
+
+    public LatencyHistogram soundEffectLatency() {
+        return soundEffectLatency;
+    }
+
+    public LatencyHistogram repaint() {
+        return repaint;
+    }
+
+    public LatencyHistogram edtQueueDelay() {
+        return edtQueueDelay;
+    }
+
+    public LatencyHistogram clickToMotion() {
+        return clickToMotion;
+    }
+
+    /** Jarak antar tick AnimationClock selama ada animasi. */
+    public LatencyHistogram frameTime() {
+        return frameTime;
+    }
+
+    /** Lama refreshUi memperbarui panel pemain, leaderboard dan label giliran. */
+    public LatencyHistogram panelUpdate() {
+        return panelUpdate;
+    }
+
+    public LatencyHistogram gcPause() {
+        return gcPause;
+    }
+
+    /**
+     * Mendengarkan notifikasi GC dan mencatat lamanya. Bean siklus konkuren (G1 Concurrent GC,
+     * ZGC Cycles) dilewati karena durasinya bukan jeda aplikasi.
+     */
+    public synchronized void startGcMonitor() {
+        if (gcMonitor) return;
+        gcMonitor = true;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc.getName().contains("Concurrent") || gc.getName().contains("Cycles")) continue;
+            if (!(gc instanceof NotificationEmitter emitter)) continue;
+            emitter.addNotificationListener((n, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+                gcPause.record(info.getGcInfo().getDuration() * 1_000_000L);
+            }, null, null);
+        }
+    }
+
+    /**
+     * Setiap 100 ms menitipkan satu Runnable ke EDT dan mencatat berapa lama ia menunggu di antrean.
+     * Hanya satu probe per proses; thread daemon, jadi tidak menahan JVM saat ditutup.
+     */
+    public synchronized void startEdtProbe() {
+        if (edtProbe != null) return;
+        edtProbe = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(JEDA_PROBE_EDT_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long posted = System.nanoTime();
+                SwingUtilities.invokeLater(() -> edtQueueDelay.record(System.nanoTime() - posted));
+            }
+        }, "edt-probe");
+        edtProbe.setDaemon(true);
+        edtProbe.start();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    @Override
+    public long getTurnsPlayed() {
+        return turns.sum();
+    }
+
+    @Override
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    @Override
+    public long getWarps() {
+        return warps.sum();
+    }
+
+    @Override
+    public long getRedDiceRolls() {
+        return redDice.sum();
+    }
+
+    @Override
+    public long getBonusPointsAwarded() {
+        return bonusPoints.sum();
+    }
+
+    @Override
+    public long getGamesWon() {
+        return gamesWon.sum();
+    }
+
+    @Override
+    public long getSoundEffectCount() {
+        return soundEffectLatency.count();
+    }
+
+    @Override
+    public double getSoundEffectLatencyP50Millis() {
+        return millis(soundEffectLatency.percentile(50));
+    }
+
+    @Override
+    public double getSoundEffectLatencyP99Millis() {
+        return millis(soundEffectLatency.percentile(99));
+    }
+
+    @Override
+    public double getSoundEffectLatencyMaxMillis() {
+        return millis(soundEffectLatency.max());
+    }
+
+    @Override
+    public long getRepaintCount() {
+        return repaint.count();
+    }
+
+    @Override
+    public double getRepaintP50Millis() {
+        return millis(repaint.percentile(50));
+    }
+
+    @Override
+    public double getRepaintP99Millis() {
+        return millis(repaint.percentile(99));
+    }
+
+    @Override
+    public double getRepaintMaxMillis() {
+        return millis(repaint.max());
+    }
+
+    @Override
+    public double getEdtQueueDelayP50Millis() {
+        return millis(edtQueueDelay.percentile(50));
+    }
+
+    @Override
+    public double getEdtQueueDelayP99Millis() {
+        return millis(edtQueueDelay.percentile(99));
+    }
+
+    @Override
+    public double getEdtQueueDelayMaxMillis() {
+        return millis(edtQueueDelay.max());
+    }
+
+    @Override
+    public double getClickToMotionP50Millis() {
+        return millis(clickToMotion.percentile(50));
+    }
+
+    @Override
+    public double getClickToMotionP99Millis() {
+        return millis(clickToMotion.percentile(99));
+    }
+
+    @Override
+    public double getFrameTimeP99Millis() {
+        return millis(frameTime.percentile(99));
+    }
+
+    @Override
+    public double getPanelUpdateP99Millis() {
+        return millis(panelUpdate.percentile(99));
+    }
+
+    @Override
+    public long getGcPauseCount() {
+        return gcPause.count();
+    }
+
+    @Override
+    public double getGcPauseMaxMillis() {
+        return millis(gcPause.max());
+    }
+
+    @Override
+    public void reset() {
+        turns.reset();
+        steps.reset();
+        warps.reset();
+        redDice.reset();
+        bonusPoints.reset();
+        gamesWon.reset();
+        soundEffectLatency.reset();
+        repaint.reset();
+        edtQueueDelay.reset();
+        clickToMotion.reset();
+        frameTime.reset();
+        panelUpdate.reset();
+        gcPause.reset();
+    }
+}
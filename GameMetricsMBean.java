@@ -0,0 +1,55 @@
+/**
+ * Atribut yang terlihat di JConsole/VisualVM di bawah {@code UlarTangga:type=GameMetrics}.
+ * Latensi dalam milidetik; persentil berasal dari LatencyHistogram sejak reset terakhir.
+ */
+public interface GameMetricsMBean {
+
+    long getTurnsPlayed();
+
+    long getSteps();
+
+    long getWarps();
+
+    long getRedDiceRolls();
+
+    long getBonusPointsAwarded();
+
+    long getGamesWon();
+
+    long getSoundEffectCount();
+
+    double getSoundEffectLatencyP50Millis();
+
+    double getSoundEffectLatencyP99Millis();
+
+    double getSoundEffectLatencyMaxMillis();
+
+    long getRepaintCount();
+
+    double getRepaintP50Millis();
+
+    double getRepaintP99Millis();
+
+    double getRepaintMaxMillis();
+
+    double getEdtQueueDelayP50Millis();
+
+    double getEdtQueueDelayP99Millis();
+
+    double getEdtQueueDelayMaxMillis();
+
+    double getClickToMotionP50Millis();
+
+    double getClickToMotionP99Millis();
+
+    double getFrameTimeP99Millis();
+
+    double getPanelUpdateP99Millis();
+
+    long getGcPauseCount();
+
+    double getGcPauseMaxMillis();
+
+    /** Mengosongkan semua penghitung dan histogram. */
+    void reset();
+}
@@ -0,0 +1,104 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Menjalankan banyak game Ular Tangga tanpa tampilan secara paralel dengan fork/join.
+ * Setiap potongan pekerjaan memakai DiceSource sendiri yang di-split sebelum fork, jadi hasilnya
+ * sama untuk seed yang sama berapa pun jumlah core-nya.
+ */
+public class GameSimulator {
+
+    private static final int BATCH_MINIMUM = 4096;
+    private static final int BUFFER_DADU = 256;
+
+    private final GameEngine engine;
+
+    public GameSimulator(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    public Result run(int players, int games, long seed) {
+        Result result = new Result(players, games);
+        ForkJoinPool.commonPool().invoke(new Batch(result, DiceSource.splittable(seed), 0, games));
+        return result;
+    }
+
+    private class Batch extends RecursiveAction {
+        private final Result result;
+        private final DiceSource dice;
+        private final int from;
+        private final int to;
+
+        Batch(Result result, DiceSource dice, int from, int to) {
+            this.result = result;
+            this.dice = dice;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_MINIMUM) {
+                int mid = (from + to) >>> 1;
+                // Split dilakukan di sini, sebelum fork, supaya pohon aliran dadu tidak bergantung pada penjadwalan
+                DiceSource right = dice.split();
+                invokeAll(new Batch(result, dice, from, mid), new Batch(result, right, mid, to));
+                return;
+            }
+            DiceSource rolls = DiceSource.batched(dice, BUFFER_DADU);
+            int[] positions = new int[result.players];
+            int[] turns = new int[1];
+            for (int g = from; g < to; g++) {
+                result.winner[g] = engine.playGame(result.players, rolls, positions, result.points, g * result.players, turns);
+                result.turns[g] = turns[0];
+            }
+        }
+    }
+
+    /** Hasil per game dalam array datar: pemenang, jumlah lemparan, dan poin akhir setiap pemain. */
+    public static final class Result {
+        public final int players;
+        public final int games;
+        public final int[] winner;
+        public final int[] turns;
+        public final int[] points;
+
+        Result(int players, int games) {
+            this.players = players;
+            this.games = games;
+            this.winner = new int[games];
+            this.turns = new int[games];
+            this.points = new int[games * players];
+        }
+
+        public int points(int game, int player) {
+            return points[game * players + player];
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        BoardModel board = BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(seed));
+        GameSimulator simulator = new GameSimulator(new GameEngine(board));
+
+        simulator.run(players, Math.min(games, 100_000), seed); // pemanasan JIT
+        long start = System.nanoTime();
+        Result r = simulator.run(players, games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] wins = new long[players];
+        long totalTurns = 0;
+        for (int g = 0; g < r.games; g++) {
+            if (r.winner[g] >= 0) wins[r.winner[g]]++;
+            totalTurns += r.turns[g];
+        }
+        System.out.printf("%,d game, %d pemain: %.3f s (%,.0f game/s)%n", games, players, seconds, games / seconds);
+        System.out.printf("Rata-rata lemparan per game: %.2f%n", (double) totalTurns / games);
+        for (int i = 0; i < players; i++) {
+            System.out.printf("Pemain %d menang: %.2f%%%n", i + 1, 100.0 * wins[i] / games);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Seluruh state permainan yang sedang berjalan dalam format biner berversi: susunan papan, pemain
+ * (nama, warna, posisi, poin), giliran, status selesai, jumlah lemparan dan state generator acak.
+ *
+ * <pre>
+ * int    MAGIC "UTPS"     short  VERSI
+ * int    ukuran papan     int    jumlah warp, lalu pasangan (dari, ke)
+ * byte   lebar bonus (1 atau 4), lalu bonus petak 1..finish
+ * int    jumlah pemain, lalu per pemain: short panjang nama, nama UTF-8, int rgb, int posisi, int poin
+ * int    giliran          byte   selesai          int    jumlah lemparan    long   state acak
+ * int    CRC32 dari semua byte sebelumnya
+ * </pre>
+ *
+ * Checkpoint otomatis memakai dua file supaya papan tidak ditulis ulang setiap giliran. Papan
+ * ditulis sekali per permainan ke {@link #boardFile}; file checkpoint hanya berisi hash papan itu
+ * dan state yang berubah:
+ *
+ * <pre>
+ * papan       int MAGIC "UTPB", short VERSI, bagian papan seperti di atas, int CRC32
+ * checkpoint  int MAGIC "UTPC", short VERSI, long hash papan, bagian pemain dan giliran, int CRC32
+ * </pre>
+ *
+ * File ditulis ke file sementara lalu dipindahkan secara atomik, jadi checkpoint yang terputus
+ * di tengah tidak pernah menimpa checkpoint terakhir yang utuh.
+ */
+public final class GameSnapshot {
+
+    public static final int MAGIC = 0x55545053;
+    public static final int MAGIC_PAPAN = 0x55545042;
+    public static final int MAGIC_CHECKPOINT = 0x55545043;
+    public static final short VERSI = 1;
+
+    private final BoardModel board;
+    private final String[] names;
+    private final int[] colors;
+    private final int[] positions;
+    private final int[] points;
+    private final int currentPlayer;
+    private final boolean gameEnded;
+    private final int turnsPlayed;
+    private final long randomState;
+
+    public GameSnapshot(BoardModel board, List<Player> players, int currentPlayer, boolean gameEnded,
+                        int turnsPlayed, long randomState) {
+        this.board = board;
+        int n = players.size();
+        this.names = new String[n];
+        this.colors = new int[n];
+        this.positions = new int[n];
+        this.points = new int[n];
+        for (int i = 0; i < n; i++) {
+            Player p = players.get(i);
+            names[i] = p.getName();
+            colors[i] = p.getColor().getRGB();
+            positions[i] = p.getPosition();
+            points[i] = p.getBonusPoints();
+        }
+        this.currentPlayer = currentPlayer;
+        this.gameEnded = gameEnded;
+        this.turnsPlayed = turnsPlayed;
+        this.randomState = randomState;
+    }
+
+    private GameSnapshot(BoardModel board, String[] names, int[] colors, int[] positions, int[] points,
+                         int currentPlayer, boolean gameEnded, int turnsPlayed, long randomState) {
+        this.board = board;
+        this.names = names;
+        this.colors = colors;
+        this.positions = positions;
+        this.points = points;
+        this.currentPlayer = currentPlayer;
+        this.gameEnded = gameEnded;
+        this.turnsPlayed = turnsPlayed;
+        this.randomState = randomState;
+    }
+
+    /** Lokasi checkpoint otomatis; bisa diganti dengan -Dular.save=file. */
+    public static Path checkpointFile() {
+        return Paths.get(System.getProperty("ular.save", "save/ular-tangga.sav"));
+    }
+
+    /** File papan yang menyertai checkpoint {@code checkpoint}. */
+    public static Path boardFile(Path checkpoint) {
+        return checkpoint.resolveSibling(checkpoint.getFileName() + ".papan");
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    /** Pemain baru dengan posisi dan poin seperti saat snapshot diambil. */
+    public List<Player> createPlayers() {
+        return createStore().asList();
+    }
+
+    public PlayerStore createStore() {
+        PlayerStore store = new PlayerStore(names.length);
+        store.setMaxPosition(board.getFinish());
+        for (int i = 0; i < names.length; i++) {
+            int p = store.add(names[i], new Color(colors[i], true));
+            store.setPosition(p, positions[i]);
+            store.addPoints(p, points[i]);
+        }
+        return store;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public boolean isGameEnded() {
+        return gameEnded;
+    }
+
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    public long getRandomState() {
+        return randomState;
+    }
+
+    public byte[] toBytes() {
+        byte[][] nameBytes = nameBytes();
+        ByteBuffer buf = ByteBuffer.allocate(4 + 2 + boardSize(board) + stateSize(nameBytes) + 4);
+        buf.putInt(MAGIC).putShort(VERSI);
+        putBoard(buf, board);
+        putState(buf, nameBytes);
+        return seal(buf);
+    }
+
+    public static GameSnapshot fromBytes(byte[] data) throws IOException {
+        ByteBuffer buf = open(data, MAGIC);
+        try {
+            return readState(buf, readBoard(buf));
+        } catch (RuntimeException e) {
+            // Panjang atau isi tidak masuk akal walaupun CRC cocok
+            throw new IOException("Snapshot tidak valid: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[][] nameBytes() {
+        byte[][] nameBytes = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        return nameBytes;
+    }
+
+    private static boolean bonusFitsByte(BoardModel board) {
+        for (int s = 1; s <= board.getFinish(); s++) {
+            if (board.getBonus(s) < 0 || board.getBonus(s) > 255) return false;
+        }
+        return true;
+    }
+
+    private static int boardSize(BoardModel board) {
+        int finish = board.getFinish();
+        int jumps = 0;
+        for (int s = 1; s <= finish; s++) {
+            if (board.hasJump(s)) jumps++;
+        }
+        return 4 + 4 + jumps * 8 + 1 + finish * (bonusFitsByte(board) ? 1 : 4);
+    }
+
+    private static void putBoard(ByteBuffer buf, BoardModel board) {
+        int finish = board.getFinish();
+        int jumps = 0;
+        for (int s = 1; s <= finish; s++) {
+            if (board.hasJump(s)) jumps++;
+        }
+        boolean bonusFitsByte = bonusFitsByte(board);
+        buf.putInt(board.getSize()).putInt(jumps);
+        for (int s = 1; s <= finish; s++) {
+            if (board.hasJump(s)) buf.putInt(s).putInt(board.getJump(s));
+        }
+        buf.put((byte) (bonusFitsByte ? 1 : 4));
+        for (int s = 1; s <= finish; s++) {
+            if (bonusFitsByte) buf.put((byte) board.getBonus(s));
+            else buf.putInt(board.getBonus(s));
+        }
+    }
+
+    private static BoardModel readBoard(ByteBuffer buf) {
+        int size = buf.getInt();
+        int finish = size * size;
+        int[] jump = new int[finish + 1];
+        int[] bonus = new int[finish + 1];
+        int jumps = buf.getInt();
+        for (int i = 0; i < jumps; i++) {
+            int from = buf.getInt();
+            jump[from] = buf.getInt();
+        }
+        int width = buf.get();
+        for (int s = 1; s <= finish; s++) bonus[s] = width == 1 ? buf.get() & 0xFF : buf.getInt();
+        return new BoardModel(size, jump, bonus);
+    }
+
+    private int stateSize(byte[][] nameBytes) {
+        int size = 4;
+        for (byte[] name : nameBytes) size += 2 + name.length + 12;
+        return size + 4 + 1 + 4 + 8;
+    }
+
+    private void putState(ByteBuffer buf, byte[][] nameBytes) {
+        buf.putInt(names.length);
+        for (int i = 0; i < names.length; i++) {
+            buf.putShort((short) nameBytes[i].length).put(nameBytes[i]);
+            buf.putInt(colors[i]).putInt(positions[i]).putInt(points[i]);
+        }
+        buf.putInt(currentPlayer).put((byte) (gameEnded ? 1 : 0)).putInt(turnsPlayed).putLong(randomState);
+    }
+
+    private static GameSnapshot readState(ByteBuffer buf, BoardModel board) {
+        int n = buf.getInt();
+        String[] names = new String[n];
+        int[] colors = new int[n];
+        int[] positions = new int[n];
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) {
+            byte[] name = new byte[buf.getShort() & 0xFFFF];
+            buf.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+            colors[i] = buf.getInt();
+            positions[i] = buf.getInt();
+            points[i] = buf.getInt();
+        }
+        int current = buf.getInt();
+        boolean ended = buf.get() != 0;
+        int turns = buf.getInt();
+        long state = buf.getLong();
+        return new GameSnapshot(board, names, colors, positions, points, current, ended, turns, state);
+    }
+
+    // Menambahkan CRC32 dari semua byte yang sudah ditulis; buffer harus pas ukurannya
+    private static byte[] seal(ByteBuffer buf) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        return buf.array();
+    }
+
+    // Memeriksa CRC, magic dan versi; hasilnya buffer yang siap dibaca setelah versi
+    private static ByteBuffer open(byte[] data, int magic) throws IOException {
+        if (data.length < 10) throw new IOException("Snapshot terlalu pendek");
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        if (buf.getInt(data.length - 4) != (int) crc.getValue()) throw new IOException("Snapshot rusak (CRC tidak cocok)");
+        if (buf.getInt() != magic) throw new IOException("Bukan file snapshot Ular Tangga");
+        short versi = buf.getShort();
+        if (versi != VERSI) throw new IOException("Versi snapshot tidak dikenal: " + versi);
+        return buf;
+    }
+
+    // FNV-1a 64-bit atas bagian papan, seperti MarkovSolver.fingerprint
+    private static long hash(byte[] data, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= data[i] & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Menulis papan ke {@link #boardFile} untuk checkpoint {@code checkpoint}; cukup sekali per
+     * permainan. Hasilnya hash papan untuk {@link #saveCheckpoint}.
+     */
+    public static long saveBoard(BoardModel board, Path checkpoint) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4 + 2 + boardSize(board) + 4);
+        buf.putInt(MAGIC_PAPAN).putShort(VERSI);
+        putBoard(buf, board);
+        byte[] data = seal(buf);
+        write(boardFile(checkpoint), data);
+        return hash(data, 6, data.length - 4);
+    }
+
+    /** Checkpoint tanpa papan; {@code boardHash} dari {@link #saveBoard} untuk papan yang sama. */
+    public void saveCheckpoint(Path file, long boardHash) throws IOException {
+        byte[][] nameBytes = nameBytes();
+        ByteBuffer buf = ByteBuffer.allocate(4 + 2 + 8 + stateSize(nameBytes) + 4);
+        buf.putInt(MAGIC_CHECKPOINT).putShort(VERSI).putLong(boardHash);
+        putState(buf, nameBytes);
+        write(file, seal(buf));
+    }
+
+    /**
+     * Menulis ke file sementara di folder yang sama, di-fsync, lalu memindahkannya ke {@code file}
+     * secara atomik, jadi setelah listrik mati yang tersisa adalah snapshot lama atau baru yang utuh.
+     */
+    public void save(Path file) throws IOException {
+        write(file, toBytes());
+    }
+
+    private static void write(Path file, byte[] data) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            while (buf.hasRemaining()) ch.write(buf);
+            // Isi harus sampai ke disk sebelum rename, kalau tidak rename bisa menang dan file kosong tertinggal
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(dir);
+    }
+
+    // Rename baru tahan listrik mati setelah entri foldernya di-fsync; Windows tidak bisa membuka
+    // folder sebagai channel, jadi di sana langkah ini dilewati
+    private static void syncDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException e) {
+            // tidak didukung di sistem file ini; file sudah di-fsync
+        }
+    }
+
+    /** Snapshot utuh dari {@link #save}, atau checkpoint dari {@link #saveCheckpoint} beserta file papannya. */
+    public static GameSnapshot load(Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        if (data.length < 4 || ByteBuffer.wrap(data).getInt(0) != MAGIC_CHECKPOINT) return fromBytes(data);
+        ByteBuffer buf = open(data, MAGIC_CHECKPOINT);
+        byte[] boardData = Files.readAllBytes(boardFile(file));
+        ByteBuffer boardBuf = open(boardData, MAGIC_PAPAN);
+        try {
+            if (buf.getLong() != hash(boardData, 6, boardData.length - 4)) {
+                throw new IOException("Papan checkpoint tidak cocok dengan " + boardFile(file).getFileName());
+            }
+            return readState(buf, readBoard(boardBuf));
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot tidak valid: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi berskala log-linear: setiap pangkat dua dibagi 16 ember linear, jadi
+ * persentil punya galat relatif paling banyak sekitar 6% dari 1 mikrodetik sampai berjam-jam
+ * dengan ukuran tetap. Perekaman hanya increment atomik tanpa lock dan tanpa alokasi, aman
+ * dipanggil dari ribuan thread sekaligus; jumlah dan total memakai LongAdder supaya thread
+ * yang merekam bersamaan tidak berebut satu cache line.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BIT = 4;
+    private static final int SUB = 1 << SUB_BIT;
+    private static final int PANGKAT = 64 - SUB_BIT;
+
+    private final AtomicLongArray counts = new AtomicLongArray((PANGKAT + 1) * SUB);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    // Nilai < 16 disimpan apa adanya; di atasnya 4 bit teratas setelah bit tertinggi menjadi sub-ember
+    private static int index(long value) {
+        if (value < SUB) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BIT;
+        return (shift + 1) * SUB + (int) ((value >>> shift) - SUB);
+    }
+
+    // Batas atas ember, dipakai saat membaca persentil
+    private static long upperBound(int index) {
+        if (index < SUB) return index;
+        int shift = index / SUB - 1;
+        long base = (long) (SUB + index % SUB) << shift;
+        return base + (1L << shift) - 1;
+    }
+
+    /** Mencatat satu nilai dalam nanodetik; nilai negatif dianggap 0. */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(index(v));
+        total.increment();
+        sum.add(v);
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            // coba lagi
+        }
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /** Jumlah ember; bersama bucket() dipakai untuk menghitung selisih antar jendela waktu. */
+    public int buckets() {
+        return counts.length();
+    }
+
+    public long bucket(int index) {
+        return counts.get(index);
+    }
+
+    /** Nilai terbesar yang masuk ember {@code index}, dalam nanodetik. */
+    public static long bucketUpperBound(int index) {
+        return upperBound(index);
+    }
+
+    /** Persentil dari salinan isi ember, misalnya selisih dua pembacaan; 0 jika kosong. */
+    public static long percentile(long[] buckets, double p) {
+        long n = 0;
+        for (long c : buckets) n += c;
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(buckets.length - 1);
+    }
+
+    /** Nilai pada persentil {@code p} (0-100), dalam nanodetik. */
+    public long percentile(double p) {
+        long n = total.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /** Ringkasan satu baris dalam milidetik, misalnya untuk laporan uji beban. */
+    public String summary() {
+        return String.format("n=%d rata2=%.3f p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f maks=%.3f ms",
+                count(), mean() / 1e6, percentile(50) / 1e6, percentile(90) / 1e6,
+                percentile(99) / 1e6, percentile(99.9) / 1e6, max() / 1e6);
+    }
+}
@@ -0,0 +1,326 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mencari susunan tangga, ular dan rentang poin bonus yang menghasilkan panjang game dan sebaran
+ * poin sesuai target, dengan simulated annealing paralel. Setiap kandidat dinilai secara eksak oleh
+ * MarkovSolver (tanpa simulasi, jadi tanpa derau): rata-rata dan simpangan baku jumlah lemparan
+ * satu game untuk sejumlah pemain, serta rata-rata dan simpangan baku poin satu pemain sampai
+ * finish. Beberapa rantai berjalan bersamaan; setelah setiap epoch separuh rantai terburuk
+ * melanjutkan dari kandidat terbaik. Setiap rantai memakai random sendiri yang di-split dari seed,
+ * jadi hasilnya sama untuk seed yang sama berapa pun jumlah core-nya.
+ *
+ * <pre>
+ * java -Dopt.turns=40 -Dopt.turnsSd=12 -Dopt.bonus=500 LayoutOptimizer papan-acara.txt
+ * java -Dular.board=papan-acara.txt PapanUlarTanggaGUI
+ * </pre>
+ *
+ * Target yang tidak diberikan tidak ikut dinilai, kecuali opt.turns (bawaan 40). Parameter lain:
+ * opt.size, opt.players, opt.iterations (per rantai), opt.chains dan opt.seed.
+ */
+public class LayoutOptimizer {
+
+    private static final int ITERASI_PER_EPOCH = 250;
+    private static final double SUHU_AWAL = 0.05;
+    private static final double SUHU_AKHIR = 1e-5;
+    private static final double SKOR_CUKUP = 1e-6;
+    private static final int POIN_MAKS = 500;
+
+    private final int size;
+    private final int finish;
+    private final int players;
+    private final double targetTurns;
+    private final double targetTurnsSd;
+    private final double targetBonus;
+    private final double targetBonusSd;
+    private final int minWarps;
+    private final int maxWarps;
+    private final int maxTurns;
+
+    /** Satu kandidat papan beserta nilainya; tidak diubah setelah dibuat. */
+    static final class Layout {
+        final int[] jump;
+        final int min;
+        final int max;
+        final int minTangga;
+        final int maxTangga;
+        final long bonusSeed;
+        final BoardModel board;
+        final double turns;
+        final double turnsSd;
+        final double bonus;
+        final double bonusSd;
+        final double score;
+
+        Layout(int[] jump, int min, int max, int minTangga, int maxTangga, long bonusSeed, BoardModel board,
+               double turns, double turnsSd, double bonus, double bonusSd, double score) {
+            this.jump = jump;
+            this.min = min;
+            this.max = max;
+            this.minTangga = minTangga;
+            this.maxTangga = maxTangga;
+            this.bonusSeed = bonusSeed;
+            this.board = board;
+            this.turns = turns;
+            this.turnsSd = turnsSd;
+            this.bonus = bonus;
+            this.bonusSd = bonusSd;
+            this.score = score;
+        }
+
+        String summary() {
+            return String.format("lemparan per game %.1f (simpangan %.1f), poin per pemain %.0f (simpangan %.0f), %d warp, poin %d-%d, ujung tangga %d-%d",
+                    turns, turnsSd, bonus, bonusSd, warps(jump), min, max, minTangga, maxTangga);
+        }
+    }
+
+    // Satu rantai annealing; hanya disentuh oleh satu task per epoch
+    private static final class Chain {
+        final SplittableRandom random;
+        Layout current;
+        Layout best;
+
+        Chain(SplittableRandom random, Layout start) {
+            this.random = random;
+            this.current = start;
+            this.best = start;
+        }
+    }
+
+    /**
+     * @param turns target rata-rata lemparan per game (semua pemain), wajib
+     * @param turnsSd target simpangan baku lemparan per game, atau NaN jika bebas
+     * @param bonus target rata-rata poin satu pemain sampai finish, atau NaN
+     * @param bonusSd target simpangan baku poin tersebut, atau NaN
+     */
+    public LayoutOptimizer(int size, int players, double turns, double turnsSd, double bonus, double bonusSd) {
+        if (size < 2) throw new IllegalArgumentException("Ukuran papan minimal 2: " + size);
+        if (players < SessionHost.MIN_PEMAIN || players > SessionHost.MAX_PEMAIN) {
+            throw new IllegalArgumentException("Jumlah pemain harus " + SessionHost.MIN_PEMAIN + "-" + SessionHost.MAX_PEMAIN + ": " + players);
+        }
+        if (!(turns > 0)) throw new IllegalArgumentException("Target lemparan per game harus positif: " + turns);
+        this.size = size;
+        this.finish = size * size;
+        this.players = players;
+        this.targetTurns = turns;
+        this.targetTurnsSd = turnsSd;
+        this.targetBonus = bonus;
+        this.targetBonusSd = bonusSd;
+        this.minWarps = Math.max(1, finish / 32);
+        this.maxWarps = Math.max(minWarps, finish / 4);
+        // Satu pemain yang belum finish setelah 20x panjang game target berarti papannya menjebak
+        this.maxTurns = (int) Math.min(Integer.MAX_VALUE, Math.ceil(20 * turns));
+    }
+
+    /** Papan bawaan (pola tangga standar, poin 10-50 dan 50-100) yang dinilai dengan target ini. */
+    public Layout standard(long seed) {
+        return evaluate(BoardModel.defaultJumps(finish), 10, 50, 50, 100, seed);
+    }
+
+    /** Menjalankan {@code chains} rantai masing-masing {@code iterations} langkah; hasilnya kandidat terbaik. */
+    public Layout optimize(int chains, int iterations, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        Layout start = standard(root.nextLong());
+        List<Chain> all = new ArrayList<>(chains);
+        for (int i = 0; i < chains; i++) all.add(new Chain(root.split(), start));
+        Layout best = start;
+        int epochs = Math.max(1, iterations / ITERASI_PER_EPOCH);
+        for (int epoch = 0; epoch < epochs && best.score > SKOR_CUKUP; epoch++) {
+            int from = epoch * ITERASI_PER_EPOCH;
+            int total = epochs * ITERASI_PER_EPOCH;
+            List<Callable<Void>> tasks = new ArrayList<>(chains);
+            for (Chain c : all) tasks.add(() -> {
+                anneal(c, from, total);
+                return null;
+            });
+            ForkJoinPool.commonPool().invokeAll(tasks);
+
+            // Urutan tetap (skor lalu indeks rantai), jadi tidak bergantung pada urutan selesai task
+            for (Chain c : all) if (c.best.score < best.score) best = c.best;
+            List<Chain> ranked = new ArrayList<>(all);
+            ranked.sort((a, b) -> Double.compare(a.current.score, b.current.score));
+            for (int i = chains - chains / 2; i < chains; i++) ranked.get(i).current = best;
+            if ((epoch + 1) % 10 == 0 || epoch == epochs - 1) {
+                System.out.printf("epoch %d/%d: skor %.6f, %s%n", epoch + 1, epochs, best.score, best.summary());
+            }
+        }
+        return best;
+    }
+
+    private void anneal(Chain c, int from, int total) {
+        for (int k = from; k < from + ITERASI_PER_EPOCH; k++) {
+            double temperature = SUHU_AWAL * Math.pow(SUHU_AKHIR / SUHU_AWAL, k / (double) total);
+            Layout next = mutate(c.current, c.random);
+            if (next == null) continue;
+            double delta = next.score - c.current.score;
+            if (delta <= 0 || c.random.nextDouble() < Math.exp(-delta / temperature)) {
+                c.current = next;
+                if (next.score < c.best.score) c.best = next;
+            }
+        }
+    }
+
+    // Satu perubahan kecil: geser pangkal atau ujung warp, tambah atau hapus warp, ubah rentang poin
+    private Layout mutate(Layout cur, SplittableRandom r) {
+        int[] jump = cur.jump.clone();
+        int min = cur.min, max = cur.max, minTangga = cur.minTangga, maxTangga = cur.maxTangga;
+        long bonusSeed = cur.bonusSeed;
+        int warps = warps(jump);
+        switch (r.nextInt(6)) {
+            case 0 -> {
+                int s = randomSource(jump, warps, r);
+                int to = s + offset(r);
+                if (to < 2 || to >= finish || jump[to] != 0 || to == jump[s]) return null;
+                jump[to] = jump[s];
+                jump[s] = 0;
+            }
+            case 1 -> {
+                int s = randomSource(jump, warps, r);
+                int to = jump[s] + offset(r);
+                if (to < 1 || to >= finish || to == s) return null;
+                jump[s] = to;
+            }
+            case 2 -> {
+                if (warps >= maxWarps) return null;
+                int s = 2 + r.nextInt(finish - 2);
+                int to = s + offset(r) * 3;
+                if (jump[s] != 0 || to < 1 || to >= finish || to == s) return null;
+                jump[s] = to;
+            }
+            case 3 -> {
+                if (warps <= minWarps) return null;
+                jump[randomSource(jump, warps, r)] = 0;
+            }
+            case 4 -> {
+                int d = r.nextInt(-10, 11);
+                switch (r.nextInt(4)) {
+                    case 0 -> min = Math.max(0, Math.min(max, min + d));
+                    case 1 -> max = Math.max(min, Math.min(POIN_MAKS, max + d));
+                    case 2 -> minTangga = Math.max(0, Math.min(maxTangga, minTangga + d));
+                    default -> maxTangga = Math.max(minTangga, Math.min(POIN_MAKS, maxTangga + d));
+                }
+            }
+            default -> bonusSeed = r.nextLong();
+        }
+        return evaluate(jump, min, max, minTangga, maxTangga, bonusSeed);
+    }
+
+    // Geseran 1 sampai satu baris ke depan atau belakang
+    private int offset(SplittableRandom r) {
+        int d = 1 + r.nextInt(size);
+        return r.nextBoolean() ? d : -d;
+    }
+
+    private static int randomSource(int[] jump, int warps, SplittableRandom r) {
+        int k = r.nextInt(warps);
+        for (int s = 1; ; s++) {
+            if (jump[s] != 0 && k-- == 0) return s;
+        }
+    }
+
+    static int warps(int[] jump) {
+        int n = 0;
+        for (int j : jump) if (j != 0) n++;
+        return n;
+    }
+
+    private Layout evaluate(int[] jump, int min, int max, int minTangga, int maxTangga, long bonusSeed) {
+        BoardModel board;
+        try {
+            board = new BoardModel(size, jump, BoardModel.randomBonus(finish, jump, new SplittableRandom(bonusSeed),
+                    min, max, minTangga, maxTangga));
+        } catch (IllegalArgumentException e) {
+            return null; // siklus warp
+        }
+        MarkovSolver.Analysis a = MarkovSolver.analyzeUncached(new GameEngine(board), maxTurns);
+        if (a == null) return null; // game terlalu panjang
+        double[] game = gameLength(a.getTurnDistribution(), players);
+        double turnsSd = Math.sqrt(game[1]);
+        double bonusSd = Math.sqrt(a.getBonusVariance());
+        double score = error(game[0], targetTurns) + error(turnsSd, targetTurnsSd)
+                + error(a.getExpectedBonus(), targetBonus) + error(bonusSd, targetBonusSd);
+        if (Double.isNaN(score)) score = Double.MAX_VALUE;
+        return new Layout(jump, min, max, minTangga, maxTangga, bonusSeed, board,
+                game[0], turnsSd, a.getExpectedBonus(), bonusSd, score);
+    }
+
+    // Kuadrat galat relatif; target NaN berarti tidak dinilai
+    private static double error(double value, double target) {
+        if (Double.isNaN(target)) return 0;
+        double e = (value - target) / Math.max(1, target);
+        return e * e;
+    }
+
+    /**
+     * Rata-rata dan varians jumlah lemparan satu game yang berakhir saat pemain pertama finish,
+     * dari distribusi lemparan satu pemain. Pemain ke-i finish duluan di ronde t dengan peluang
+     * f(t) * S(t)^i * S(t-1)^(n-1-i), dan game itu berlangsung (t-1)*n + i + 1 lemparan.
+     */
+    static double[] gameLength(double[] distribution, int n) {
+        double mean = 0, square = 0;
+        double survivePrev = 1.0;
+        for (int t = 1; t < distribution.length; t++) {
+            double f = distribution[t];
+            double survive = Math.max(0, survivePrev - f);
+            for (int i = 0; i < n; i++) {
+                double p = f * Math.pow(survive, i) * Math.pow(survivePrev, n - 1 - i);
+                double len = (double) (t - 1) * n + i + 1;
+                mean += p * len;
+                square += p * len * len;
+            }
+            survivePrev = survive;
+        }
+        return new double[] {mean, square - mean * mean};
+    }
+
+    private static double property(String name) {
+        String v = System.getProperty(name);
+        return v == null ? Double.NaN : Double.parseDouble(v);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(args.length > 0 ? args[0] : "papan.txt");
+        int size = Integer.getInteger("opt.size", PapanUlarTanggaGUI.UKURAN_PAPAN);
+        int players = Integer.getInteger("opt.players", 4);
+        int iterations = Integer.getInteger("opt.iterations", 10_000);
+        int chains = Integer.getInteger("opt.chains", Math.max(4, Runtime.getRuntime().availableProcessors()));
+        long seed = Long.getLong("opt.seed", 42L);
+        double turns = Double.parseDouble(System.getProperty("opt.turns", "40"));
+        LayoutOptimizer opt = new LayoutOptimizer(size, players, turns, property("opt.turnsSd"),
+                property("opt.bonus"), property("opt.bonusSd"));
+
+        boolean pilihan = false;
+        for (int u : PapanUlarTanggaGUI.PILIHAN_UKURAN_PAPAN) pilihan |= u == size;
+        if (!pilihan) System.out.println("Peringatan: ukuran " + size + " tidak ada di pilihan lobby, papan tidak akan dipakai GUI.");
+
+        System.out.println("Papan bawaan: " + opt.standard(seed).summary());
+        long start = System.nanoTime();
+        Layout best = opt.optimize(chains, iterations, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d rantai x %d iterasi dalam %.1f s%n", chains, iterations, seconds);
+        System.out.println("Hasil: " + best.summary());
+
+        // Pemeriksaan silang dengan simulasi: rata-rata dan simpangan lemparan harus mendekati nilai eksak
+        GameSimulator.Result r = new GameSimulator(new GameEngine(best.board)).run(players, 200_000, seed);
+        double mean = 0, square = 0;
+        for (int g = 0; g < r.games; g++) {
+            mean += r.turns[g];
+            square += (double) r.turns[g] * r.turns[g];
+        }
+        mean /= r.games;
+        System.out.printf("Simulasi %,d game: lemparan per game %.1f (simpangan %.1f)%n",
+                r.games, mean, Math.sqrt(square / r.games - mean * mean));
+
+        best.board.save(out, "Dibuat oleh LayoutOptimizer, seed " + seed + ", " + players + " pemain",
+                "Target lemparan per game " + turns + ", simpangan " + property("opt.turnsSd")
+                        + ", poin " + property("opt.bonus") + ", simpangan poin " + property("opt.bonusSd"),
+                best.summary());
+        System.out.println("Papan ditulis ke " + out + "; jalankan game dengan -Dular.board=" + out);
+    }
+}
@@ -1,33 +1,30 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 public class LobbyFrame extends JFrame {
     private final PapanUlarTanggaGUI gameFrame;
     private int numPlayers = 2;
+    private int ukuranPapan = PapanUlarTanggaGUI.ukuranPapanAwal();
     private final Color[] playerColors;
-    private BufferedImage backgroundImage;
+    static final String BACKGROUND = "images/BOS_3.png";
 
     private static final Color BUTTON_YELLOW = new Color(0xFFC700);
     private static final Color BUTTON_BORDER = new Color(0xFF8C00);
     private static final Color TEXT_WHITE = Color.WHITE;
     private static final Color CARD_BG = new Color(0x1565C0);
+    // Mode pesta: pemain bernama otomatis, tanpa dialog nama
+    private static final int PEMAIN_PESTA_MIN = 7;
+    private static final int PEMAIN_PESTA_MAKS = 10_000;
+    private static final int PEMAIN_PESTA_BAWAAN = 1000;
 
     public LobbyFrame(PapanUlarTanggaGUI gameFrame) {
         this.gameFrame = gameFrame;
         this.playerColors = PapanUlarTanggaGUI.PLAYER_COLORS;
 
-        try {
-            backgroundImage = ImageIO.read(new File("images/BOS_3.png"));
-        } catch (IOException e) {
-            System.err.println("Error: File BOS_3.png tidak ditemukan di folder project!");
-        }
-
         setTitle("🎲 ULAR TANGGA PRIMA");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
@@ -35,14 +32,21 @@ public class LobbyFrame extends JFrame {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
+                Image backgroundImage = AssetManager.shared().scaled(BACKGROUND, getWidth(), getHeight());
                 if (backgroundImage != null) {
-                    g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+                    g.drawImage(backgroundImage, 0, 0, null);
                 } else {
                     g.setColor(new Color(0x1E4080));
                     g.fillRect(0, 0, getWidth(), getHeight());
                 }
+                PapanUlarTanggaGUI.reportFirstFrame();
             }
         };
+        // Latar didekode di latar; sampai selesai lobby memakai warna polos lalu digambar ulang
+        AssetManager.shared().load(BACKGROUND).thenAccept(img -> {
+            if (img == null) System.err.println("Error: File BOS_3.png tidak ditemukan di folder project!");
+            else SwingUtilities.invokeLater(mainPanel::repaint);
+        });
         mainPanel.setOpaque(false);
         setContentPane(mainPanel);
 
@@ -97,12 +101,35 @@ public class LobbyFrame extends JFrame {
         controlPanel.add(Box.createVerticalGlue());
         controlPanel.add(playButton);
         controlPanel.add(Box.createVerticalStrut(20));
+
+        // Hanya muncul jika ada checkpoint dari permainan yang belum selesai
+        if (Files.exists(GameSnapshot.checkpointFile())) {
+            JButton resumeButton = createStyledButton("▶ LANJUTKAN", 30);
+            resumeButton.setMaximumSize(new Dimension(250, 70));
+            resumeButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+            resumeButton.addActionListener(e -> resumeGame());
+            controlPanel.add(resumeButton);
+            controlPanel.add(Box.createVerticalStrut(20));
+        }
         controlPanel.add(settingsButton);
         controlPanel.add(Box.createVerticalGlue());
 
         return controlPanel;
     }
 
+    private void resumeGame() {
+        GameSnapshot snapshot;
+        try {
+            snapshot = GameSnapshot.load(GameSnapshot.checkpointFile());
+        } catch (IOException e) {
+            System.err.println("Gagal memuat checkpoint: " + e.getMessage());
+            JOptionPane.showMessageDialog(this, "Permainan tersimpan tidak bisa dibaca.", "Lanjutkan", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        gameFrame.resume(snapshot);
+        this.dispose();
+    }
+
     private JButton createStyledButton(String text, int fontSize) {
         JButton button = new JButton(text) {
             @Override
@@ -234,14 +261,99 @@ public class LobbyFrame extends JFrame {
             });
             buttonPanel.add(btn);
         }
+        JButton partyBtn = new JButton("🎉 Pesta");
+        partyBtn.setBackground(BUTTON_YELLOW);
+        partyBtn.setFont(new Font("Arial", Font.BOLD, 14));
+        partyBtn.addActionListener(e -> {
+            dialog.dispose();
+            startPartyMode();
+        });
+        buttonPanel.add(partyBtn);
+        JButton onlineBtn = new JButton("🌐 Online");
+        onlineBtn.setBackground(BUTTON_YELLOW);
+        onlineBtn.setFont(new Font("Arial", Font.BOLD, 14));
+        onlineBtn.addActionListener(e -> {
+            dialog.dispose();
+            startOnlineMode();
+        });
+        buttonPanel.add(onlineBtn);
 
         contentPanel.add(buttonPanel);
+        contentPanel.add(Box.createVerticalStrut(15));
+
+        JPanel sizePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        sizePanel.setOpaque(false);
+        JLabel sizeLabel = new JLabel("Ukuran Papan: ");
+        sizeLabel.setForeground(Color.WHITE);
+        sizeLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        JComboBox<String> sizeBox = new JComboBox<>();
+        for (int ukuran : PapanUlarTanggaGUI.PILIHAN_UKURAN_PAPAN) sizeBox.addItem(ukuran + " x " + ukuran);
+        for (int i = 0; i < PapanUlarTanggaGUI.PILIHAN_UKURAN_PAPAN.length; i++) {
+            if (PapanUlarTanggaGUI.PILIHAN_UKURAN_PAPAN[i] == ukuranPapan) sizeBox.setSelectedIndex(i);
+        }
+        sizeBox.addActionListener(e -> ukuranPapan = PapanUlarTanggaGUI.PILIHAN_UKURAN_PAPAN[sizeBox.getSelectedIndex()]);
+        sizePanel.add(sizeLabel);
+        sizePanel.add(sizeBox);
+        contentPanel.add(sizePanel);
+
         dialog.add(contentPanel);
-        dialog.setSize(400, 250);
+        dialog.setSize(400, 300);
         dialog.setLocationRelativeTo(this);
         dialog.setVisible(true);
     }
 
+    // Ribuan pemain langsung dibuat di PlayerStore; warna bergiliran dari palet pemain biasa
+    private void startPartyMode() {
+        String input = JOptionPane.showInputDialog(this,
+                "Jumlah pemain (" + PEMAIN_PESTA_MIN + "-" + PEMAIN_PESTA_MAKS + "):", PEMAIN_PESTA_BAWAAN);
+        if (input == null) return;
+        int count;
+        try {
+            count = Integer.parseInt(input.trim());
+        } catch (NumberFormatException ex) {
+            count = -1;
+        }
+        if (count < PEMAIN_PESTA_MIN || count > PEMAIN_PESTA_MAKS) {
+            JOptionPane.showMessageDialog(this, "Jumlah pemain harus " + PEMAIN_PESTA_MIN + " sampai " + PEMAIN_PESTA_MAKS + ".",
+                    "Mode Pesta", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        PlayerStore players = new PlayerStore(count);
+        for (int i = 0; i < count; i++) players.add("Pemain " + (i + 1), playerColors[i % playerColors.length]);
+        gameFrame.start(players.asList(), ukuranPapan);
+        this.dispose();
+    }
+
+    // Bergabung ke meja di NetServer; papan dan dadu datang dari server, bukan dari pilihan lobby
+    private void startOnlineMode() {
+        JTextField addressField = new JTextField("localhost:" + NetProtocol.PORT_BAWAAN);
+        JTextField tableField = new JTextField("0");
+        JTextField nameField = new JTextField(System.getProperty("user.name", "Pemain"));
+        JPanel form = new JPanel(new GridLayout(0, 2, 6, 6));
+        form.add(new JLabel("Server (host:port):"));
+        form.add(addressField);
+        form.add(new JLabel("Meja:"));
+        form.add(tableField);
+        form.add(new JLabel("Nama:"));
+        form.add(nameField);
+        if (JOptionPane.showConfirmDialog(this, form, "Main Online", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) return;
+        String name = nameField.getText().trim();
+        if (name.isEmpty()) name = "Pemain";
+        try {
+            NetGameFrame frame = new NetGameFrame(NetGameFrame.parseAddress(addressField.getText()),
+                    Integer.parseInt(tableField.getText().trim()), -1, name, () -> new LobbyFrame(gameFrame));
+            frame.setVisible(true);
+        } catch (IllegalArgumentException | IOException ex) {
+            // NumberFormatException untuk meja atau port, IllegalArgumentException untuk alamat
+            JOptionPane.showMessageDialog(this, "Alamat atau meja tidak valid: " + ex.getMessage(),
+                    "Main Online", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        // gameFrame belum dimulai dan tetap memutar musik lobby; dipakai lagi saat kembali ke lobby
+        this.dispose();
+    }
+
     private void showPlayerNameInputDialog() {
         JDialog dialog = new JDialog(this, "Input Nama Pemain", true);
         dialog.setLayout(new BorderLayout());
@@ -289,7 +401,7 @@ public class LobbyFrame extends JFrame {
                 players.add(new Player(name, playerColors[i]));
             }
             dialog.dispose();
-            gameFrame.start(players);
+            gameFrame.start(players, ukuranPapan);
             this.dispose();
         });
 
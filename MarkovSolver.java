@@ -0,0 +1,371 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Analisis eksak satu papan sebagai rantai Markov. Setiap petak adalah state, setiap
+ * lemparan dadu adalah transisi (dihitung dengan GameEngine, jadi warp dan pantulan
+ * di finish ikut), dan finish adalah state penyerap. Matriksnya disimpan jarang (CSR)
+ * karena setiap baris paling banyak punya 8 tujuan, jadi papan besar tetap muat.
+ * Hasil yang lengkap disimpan per sidik jari papan dalam cache LRU kecil sehingga pertanyaan
+ * berulang langsung dijawab.
+ */
+public final class MarkovSolver {
+
+    private static final double TOLERANSI = 1e-12;
+    private static final int MAX_ITERASI = 1_000_000;
+    private static final int MAX_GILIRAN_DISTRIBUSI = 100_000;
+    private static final double SISA_DITOLAK = 1e-9;
+    private static final int UKURAN_CACHE = 64;
+
+    // Urutan akses: entri yang paling lama tidak dipakai dibuang lebih dulu
+    private static final Map<Long, Analysis> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Analysis> eldest) {
+            return size() > UKURAN_CACHE;
+        }
+    };
+
+    private MarkovSolver() {
+    }
+
+    public static Analysis analyze(GameEngine engine) {
+        return analyze(engine, GameEngine.PELUANG_DADU_MERAH / 100.0);
+    }
+
+    /**
+     * Panjang distribusi diturunkan dari rata-rata lemparan yang sudah dihitung. Jika batasnya
+     * tetap tercapai, hasilnya tidak lengkap ({@link Analysis#isComplete()}) dan tidak disimpan.
+     */
+    public static Analysis analyze(GameEngine engine, double redProbability) {
+        long key = fingerprint(engine, redProbability);
+        synchronized (CACHE) {
+            Analysis cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+        // Dihitung di luar kunci supaya papan lain tidak ikut menunggu
+        Analysis a = solve(engine, redProbability, 0);
+        if (a.isComplete()) {
+            synchronized (CACHE) {
+                CACHE.put(key, a);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Seperti analyze, tanpa cache; untuk pencarian yang menilai ribuan papan sekali pakai.
+     * Hasilnya null jika peluang belum finish setelah {@code maxTurns} lemparan masih terasa,
+     * sehingga papan dengan jebakan ular ditolak tanpa menunggu solver konvergen.
+     */
+    public static Analysis analyzeUncached(GameEngine engine, int maxTurns) {
+        return solve(engine, GameEngine.PELUANG_DADU_MERAH / 100.0, Math.min(maxTurns, MAX_GILIRAN_DISTRIBUSI));
+    }
+
+    // FNV-1a 64-bit atas ukuran papan, peluang dadu merah, tabel warp dan tabel bonus
+    public static long fingerprint(GameEngine engine, double redProbability) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, engine.getFinish());
+        h = mix(h, Double.doubleToLongBits(redProbability));
+        for (int s = 1; s <= engine.getFinish(); s++) {
+            h = mix(h, engine.getWarp(s));
+            h = mix(h, engine.getBonus(s));
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (value >>> (i * 8)) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // maxTurns 0 berarti batas distribusi diturunkan dari rata-rata lemparan
+    private static Analysis solve(GameEngine engine, double redProbability, int maxTurns) {
+        int finish = engine.getFinish();
+        int n = finish - 1; // state transien: petak 1..finish-1, indeks 0..n-1
+
+        int[] outcomes = {-2, -1, 1, 2, 3, 4, 5, 6};
+        double[] chance = new double[outcomes.length];
+        for (int i = 0; i < outcomes.length; i++) {
+            chance[i] = outcomes[i] < 0 ? redProbability / 2 : (1 - redProbability) / 6;
+        }
+
+        SparseMatrix q = new SparseMatrix(n, n * outcomes.length);
+        double[] toFinish = new double[n];
+        double[] reward = new double[n];
+        int[] rowCols = new int[outcomes.length];
+        double[] rowVals = new double[outcomes.length];
+        for (int s = 0; s < n; s++) {
+            int used = 0;
+            for (int o = 0; o < outcomes.length; o++) {
+                int dest = engine.finalPosition(s + 1, outcomes[o]);
+                reward[s] += chance[o] * engine.getBonus(dest);
+                if (dest == finish) {
+                    toFinish[s] += chance[o];
+                    continue;
+                }
+                int col = dest - 1;
+                int k = 0;
+                while (k < used && rowCols[k] != col) k++;
+                if (k == used) {
+                    rowCols[used] = col;
+                    rowVals[used++] = 0;
+                }
+                rowVals[k] += chance[o];
+            }
+            q.addRow(rowCols, rowVals, used);
+        }
+
+        // Dengan batas dari pemanggil, distribusi dihitung dulu: iterasinya dibatasi, dan ekornya
+        // menentukan laju konvergensi solver, jadi papan jebakan ditolak sebelum solver berjalan
+        double[] distribution = null;
+        if (maxTurns > 0) {
+            distribution = turnDistribution(q, toFinish, maxTurns);
+            if (distribution == null) return null;
+        }
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1.0);
+        double[] expectedTurns = q.solveAbsorbing(ones);
+        if (distribution == null) distribution = turnDistribution(q, toFinish, turnLimit(expectedTurns));
+        double[] expectedBonus = q.solveAbsorbing(reward);
+
+        // Momen kedua total poin: E[R^2](s) = sum p * (b^2 + 2 b E[R](d)) + sum Q E[R^2](d)
+        double[] reward2 = new double[n];
+        for (int s = 0; s < n; s++) {
+            for (int o = 0; o < outcomes.length; o++) {
+                int dest = engine.finalPosition(s + 1, outcomes[o]);
+                double b = engine.getBonus(dest);
+                double after = dest == finish ? 0 : expectedBonus[dest - 1];
+                reward2[s] += chance[o] * (b * b + 2 * b * after);
+            }
+        }
+        double[] bonusSquare = q.solveAbsorbing(reward2);
+
+        double unfinished = distribution[0];
+        distribution[0] = 0;
+        return new Analysis(fingerprint(engine, redProbability), n == 0 ? 0 : expectedTurns[0],
+                n == 0 ? 0 : expectedBonus[0], n == 0 ? 0 : bonusSquare[0] - expectedBonus[0] * expectedBonus[0],
+                distribution, unfinished);
+    }
+
+    // Dari petak mana pun, P(T > 2M) <= 1/2 menurut ketaksamaan Markov (M = rata-rata lemparan
+    // terbesar), jadi setelah 2M * log2(1/TOLERANSI) lemparan sisa peluangnya di bawah TOLERANSI
+    private static int turnLimit(double[] expectedTurns) {
+        double worst = 1;
+        for (double e : expectedTurns) worst = Math.max(worst, e);
+        double limit = Math.ceil(2 * worst * (Math.log(1 / TOLERANSI) / Math.log(2)));
+        return (int) Math.min(MAX_GILIRAN_DISTRIBUSI, limit);
+    }
+
+    // P(T = t) untuk t = 1.. dengan mendorong vektor peluang dari petak 1 sampai massanya habis;
+    // indeks 0 menyimpan peluang yang belum finish saat batas lemparan tercapai
+    private static double[] turnDistribution(SparseMatrix q, double[] toFinish, int maxTurns) {
+        int n = q.rows;
+        if (n == 0) return new double[] {0, 1};
+        double[] v = new double[n];
+        double[] next = new double[n];
+        v[0] = 1.0;
+        double remaining = 1.0;
+        double[] pmf = new double[64];
+        int t = 0;
+        while (remaining > TOLERANSI && t < maxTurns) {
+            t++;
+            double absorbed = 0;
+            for (int i = 0; i < n; i++) absorbed += v[i] * toFinish[i];
+            q.leftMultiply(v, next);
+            double[] tmp = v; v = next; next = tmp;
+            if (t >= pmf.length) pmf = Arrays.copyOf(pmf, pmf.length * 2);
+            pmf[t] = absorbed;
+            remaining -= absorbed;
+        }
+        if (maxTurns < MAX_GILIRAN_DISTRIBUSI && remaining > SISA_DITOLAK) return null;
+        pmf = Arrays.copyOf(pmf, t + 1);
+        pmf[0] = Math.max(0, remaining);
+        return pmf;
+    }
+
+    /** Matriks jarang format CSR, hanya untuk bagian transien Q dari rantai Markov. */
+    static final class SparseMatrix {
+        final int rows;
+        private final int[] rowStart;
+        private final int[] cols;
+        private final double[] vals;
+        private int filledRows;
+        private int nnz;
+        private boolean[] reachable;
+
+        SparseMatrix(int rows, int capacity) {
+            this.rows = rows;
+            this.rowStart = new int[rows + 1];
+            this.cols = new int[capacity];
+            this.vals = new double[capacity];
+        }
+
+        void addRow(int[] rowCols, double[] rowVals, int count) {
+            System.arraycopy(rowCols, 0, cols, nnz, count);
+            System.arraycopy(rowVals, 0, vals, nnz, count);
+            nnz += count;
+            rowStart[++filledRows] = nnz;
+        }
+
+        // out = v * Q
+        void leftMultiply(double[] v, double[] out) {
+            Arrays.fill(out, 0);
+            for (int i = 0; i < rows; i++) {
+                double vi = v[i];
+                if (vi == 0) continue;
+                for (int k = rowStart[i]; k < rowStart[i + 1]; k++) out[cols[k]] += vi * vals[k];
+            }
+        }
+
+        // State yang bisa dicapai dari petak 1; sekumpulan petak tertutup di luar itu (jebakan ular
+        // yang tidak pernah dimasuki) tidak punya jalan ke finish dan membuat Gauss-Seidel tidak konvergen
+        private boolean[] reachable() {
+            if (reachable != null) return reachable;
+            reachable = new boolean[rows];
+            int[] stack = new int[rows];
+            int top = 0;
+            stack[top++] = 0;
+            reachable[0] = true;
+            while (top > 0) {
+                int i = stack[--top];
+                for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                    if (!reachable[cols[k]]) {
+                        reachable[cols[k]] = true;
+                        stack[top++] = cols[k];
+                    }
+                }
+            }
+            return reachable;
+        }
+
+        // Menyelesaikan x = b + Q x dengan Gauss-Seidel, hanya untuk state yang bisa dicapai dari petak 1
+        double[] solveAbsorbing(double[] b) {
+            double[] x = new double[rows];
+            boolean[] active = reachable();
+            for (int iter = 0; iter < MAX_ITERASI; iter++) {
+                double maxDelta = 0;
+                for (int i = 0; i < rows; i++) {
+                    if (!active[i]) continue;
+                    double sum = b[i];
+                    double diag = 0;
+                    for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                        if (cols[k] == i) diag = vals[k];
+                        else sum += vals[k] * x[cols[k]];
+                    }
+                    double xi = sum / (1 - diag);
+                    maxDelta = Math.max(maxDelta, Math.abs(xi - x[i]) / Math.max(1, Math.abs(xi)));
+                    x[i] = xi;
+                }
+                if (maxDelta < TOLERANSI) break;
+            }
+            return x;
+        }
+    }
+
+    /** Hasil analisis untuk satu pemain yang mulai dari petak 1. */
+    public static final class Analysis {
+        private final long fingerprint;
+        private final double expectedTurns;
+        private final double expectedBonus;
+        private final double bonusVariance;
+        private final double[] turnDistribution;
+        private final double unfinished;
+
+        Analysis(long fingerprint, double expectedTurns, double expectedBonus, double bonusVariance, double[] turnDistribution,
+                 double unfinished) {
+            this.fingerprint = fingerprint;
+            this.expectedTurns = expectedTurns;
+            this.expectedBonus = expectedBonus;
+            this.bonusVariance = Math.max(0, bonusVariance);
+            this.turnDistribution = turnDistribution;
+            this.unfinished = unfinished;
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        /** Rata-rata jumlah lemparan satu pemain sampai tepat di finish. */
+        public double getExpectedTurns() {
+            return expectedTurns;
+        }
+
+        /** Rata-rata total poin bonus yang dikumpulkan sampai finish, termasuk poin finish. */
+        public double getExpectedBonus() {
+            return expectedBonus;
+        }
+
+        /** Varians total poin bonus sampai finish, untuk sebaran poin antar pemain. */
+        public double getBonusVariance() {
+            return bonusVariance;
+        }
+
+        /** P(T = t) pada indeks t; indeks 0 selalu 0. Jumlahnya 1 - {@link #getUnfinishedProbability()}. */
+        public double[] getTurnDistribution() {
+            return turnDistribution.clone();
+        }
+
+        /** Peluang yang belum finish di ujung distribusi, karena batas lemparan tercapai. */
+        public double getUnfinishedProbability() {
+            return unfinished;
+        }
+
+        /** False jika distribusi terpotong lebih dari TOLERANSI; varians dan peluang menang lalu hanya perkiraan. */
+        public boolean isComplete() {
+            return unfinished <= TOLERANSI;
+        }
+
+        public double getVariance() {
+            double mean = 0, square = 0;
+            for (int t = 1; t < turnDistribution.length; t++) {
+                mean += t * turnDistribution[t];
+                square += (double) t * t * turnDistribution[t];
+            }
+            return square - mean * mean;
+        }
+
+        /**
+         * Peluang menang tiap urutan giliran bila {@code players} pemain bermain bergiliran.
+         * Pemain ke-i menang di ronde t jika pemain sebelumnya belum finish setelah t lemparan
+         * dan pemain sesudahnya belum finish setelah t-1 lemparan.
+         */
+        public double[] winProbabilities(int players) {
+            double[] win = new double[players];
+            double survivePrev = 1.0; // P(T > t-1)
+            for (int t = 1; t < turnDistribution.length; t++) {
+                double f = turnDistribution[t];
+                double survive = Math.max(0, survivePrev - f); // P(T > t)
+                for (int i = 0; i < players; i++) {
+                    win[i] += f * Math.pow(survive, i) * Math.pow(survivePrev, players - 1 - i);
+                }
+                survivePrev = survive;
+            }
+            return win;
+        }
+    }
+
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        GameEngine engine = new GameEngine(BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplittableRandom(seed)));
+
+        long start = System.nanoTime();
+        Analysis a = analyze(engine);
+        long solved = System.nanoTime();
+        analyze(engine);
+        long cached = System.nanoTime();
+
+        System.out.printf("Sidik jari papan: %016x%n", a.getFingerprint());
+        System.out.printf("Rata-rata lemparan per pemain: %.4f (varians %.4f)%n", a.getExpectedTurns(), a.getVariance());
+        if (!a.isComplete()) System.out.printf("Distribusi terpotong, sisa peluang %.3g%n", a.getUnfinishedProbability());
+        System.out.printf("Rata-rata poin bonus: %.2f (simpangan baku %.2f)%n", a.getExpectedBonus(), Math.sqrt(a.getBonusVariance()));
+        double[] win = a.winProbabilities(players);
+        for (int i = 0; i < players; i++) System.out.printf("Pemain %d menang: %.2f%%%n", i + 1, 100 * win[i]);
+        System.out.printf("Waktu analisis: %.2f ms, dari cache: %.3f ms%n", (solved - start) / 1e6, (cached - solved) / 1e6);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Semua kemungkinan gerakan di satu papan, dihitung sekali saat papan dimuat. Untuk setiap petak
+ * dan setiap hasil dadu (-2, -1, 1..6) tabel menyimpan petak akhir dan jumlah warp yang dilewati,
+ * dikemas dalam satu int, sehingga satu lemparan cukup satu pembacaan array. Jalur lengkap untuk
+ * animasi tidak disimpan; {@link #path} menyusunnya ulang ke buffer milik pemanggil hanya saat
+ * dibutuhkan, karena menyimpan semua jalur akan memakan memori beberapa kali lipat.
+ */
+public final class MoveTable {
+
+    public static final int JUMLAH_HASIL_DADU = 8;
+
+    private static final int BIT_PETAK = 24;
+    private static final int MASK_PETAK = (1 << BIT_PETAK) - 1;
+    private static final int WARP_MAKSIMUM = 255;
+
+    private final BoardModel board;
+    private final int finish;
+    private final int[] outcomes;
+
+    public MoveTable(BoardModel board) {
+        this.board = board;
+        this.finish = board.getFinish();
+        if (finish > MASK_PETAK) {
+            throw new IllegalArgumentException("Papan terlalu besar untuk MoveTable: " + finish + " petak");
+        }
+        this.outcomes = new int[(finish + 1) * JUMLAH_HASIL_DADU];
+        for (int pos = 1; pos <= finish; pos++) {
+            for (int o = 0; o < JUMLAH_HASIL_DADU; o++) {
+                outcomes[pos * JUMLAH_HASIL_DADU + o] = walk(pos, diceValue(o), null);
+            }
+        }
+    }
+
+    /** Indeks hasil dadu: -2, -1 menjadi 0, 1 dan 1..6 menjadi 2..7. */
+    public static int outcomeIndex(int signedSteps) {
+        return signedSteps < 0 ? signedSteps + 2 : signedSteps + 1;
+    }
+
+    public static int diceValue(int outcomeIndex) {
+        return outcomeIndex < 2 ? outcomeIndex - 2 : outcomeIndex - 1;
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    public int finalPosition(int position, int signedSteps) {
+        return outcomes[position * JUMLAH_HASIL_DADU + outcomeIndex(signedSteps)] & MASK_PETAK;
+    }
+
+    /** Jumlah warp (tangga dan ular, termasuk yang berantai) dalam gerakan ini, maksimal 255. */
+    public int warpCount(int position, int signedSteps) {
+        return outcomes[position * JUMLAH_HASIL_DADU + outcomeIndex(signedSteps)] >>> BIT_PETAK;
+    }
+
+    /** Menyusun ulang jalur gerakan ke {@code out} untuk animasi. */
+    public void path(int position, int signedSteps, GameEngine.Move out) {
+        out.clear();
+        walk(position, signedSteps, out);
+    }
+
+    // Langkah satu per satu dengan pantulan di finish; setelah setiap langkah warp diikuti sampai
+    // petak yang tidak punya warp lagi. BoardModel sudah menolak siklus, jadi rantai pasti berhenti.
+    private int walk(int position, int signedSteps, GameEngine.Move out) {
+        int remaining = Math.abs(signedSteps);
+        boolean forward = signedSteps > 0;
+        int warps = 0;
+        while (remaining > 0) {
+            if (forward) {
+                if (position < finish) {
+                    position++;
+                } else {
+                    forward = false;
+                    position--;
+                }
+            } else if (position > 1) {
+                position--;
+            }
+            remaining--;
+            if (out != null) out.add(position, false);
+            for (int to = board.getJump(position); to != 0; to = board.getJump(position)) {
+                position = to;
+                warps++;
+                if (out != null) out.add(position, true);
+            }
+        }
+        if (out != null) out.setFinalPosition(position);
+        return Math.min(warps, WARP_MAKSIMUM) << BIT_PETAK | position;
+    }
+}
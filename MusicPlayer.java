@@ -0,0 +1,131 @@
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Pemutar musik latar yang membaca file sedikit demi sedikit, bukan memuat seluruh lagu ke Clip.
+ * Satu thread berprioritas rendah mengisi ring buffer dari file dan menuangkannya ke SourceDataLine.
+ * Saat file habis, stream langsung dibuka ulang ke ring yang sama sehingga loop tidak berjeda.
+ * Memori yang dipakai hanya ring buffer dan buffer line, berapa pun panjang lagunya.
+ */
+public class MusicPlayer {
+
+    private static final int RING_BYTES = 64 * 1024;
+    private static final int CHUNK_BYTES = 4096;
+
+    private final File file;
+    private final byte[] ring = new byte[RING_BYTES];
+    private int ringSize;
+    private int readPos;
+    private int writePos;
+    private int filled;
+
+    private AudioFormat format;
+    private AudioInputStream stream;
+    private SourceDataLine line;
+    private FloatControl volumeControl;
+    private Thread thread;
+    private volatile boolean running;
+
+    public MusicPlayer(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    /** Membuka line dan mulai memutar berulang; false jika file atau perangkat audio tidak ada. */
+    public boolean start() {
+        if (!file.exists()) return false;
+        try {
+            stream = openStream();
+            format = stream.getFormat();
+            // AudioInputStream selalu membaca frame utuh, jadi ring dibuat kelipatan ukuran frame
+            ringSize = RING_BYTES - RING_BYTES % format.getFrameSize();
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, CHUNK_BYTES * 8);
+            if (line.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+                volumeControl = (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+            }
+            line.start();
+        } catch (Exception e) {
+            System.err.println("Gagal memutar musik " + file + ": " + e.getMessage());
+            close();
+            return false;
+        }
+        running = true;
+        thread = new Thread(this::streamLoop, "music-stream");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return true;
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    /** Kontrol gain line yang sedang diputar, sama seperti volumeControl dari Clip dulu. */
+    public FloatControl getVolumeControl() {
+        return volumeControl;
+    }
+
+    // File dibaca ke format PCM 16-bit; format lain dikonversi oleh AudioSystem
+    private AudioInputStream openStream() throws IOException, UnsupportedAudioFileException {
+        AudioInputStream source = AudioSystem.getAudioInputStream(file);
+        AudioFormat src = source.getFormat();
+        if (src.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && src.getSampleSizeInBits() == 16) {
+            return source;
+        }
+        AudioFormat pcm = new AudioFormat(src.getSampleRate(), 16, src.getChannels(), true, false);
+        return AudioSystem.getAudioInputStream(pcm, source);
+    }
+
+    private void streamLoop() {
+        int chunk = CHUNK_BYTES - CHUNK_BYTES % format.getFrameSize();
+        try {
+            while (running) {
+                fillRing();
+                int n = Math.min(chunk, Math.min(filled, ringSize - readPos));
+                if (n <= 0) break; // file kosong, tidak ada yang bisa diputar
+                line.write(ring, readPos, n);
+                readPos = (readPos + n) % ringSize;
+                filled -= n;
+            }
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.err.println("Streaming musik berhenti: " + e.getMessage());
+        } finally {
+            close();
+        }
+    }
+
+    // Mengisi ring sampai penuh; di akhir file stream dibuka lagi supaya loop tanpa jeda
+    private void fillRing() throws IOException, UnsupportedAudioFileException {
+        boolean reopened = false;
+        while (filled < ringSize) {
+            int space = Math.min(ringSize - filled, ringSize - writePos);
+            int r = stream.read(ring, writePos, space);
+            if (r < 0) {
+                if (reopened) return; // file kosong
+                stream.close();
+                stream = openStream();
+                reopened = true;
+                continue;
+            }
+            if (r == 0) return;
+            reopened = false;
+            writePos = (writePos + r) % ringSize;
+            filled += r;
+        }
+    }
+
+    private void close() {
+        try {
+            if (stream != null) stream.close();
+        } catch (IOException ignored) {
+        }
+        if (line != null) {
+            line.stop();
+            line.flush();
+            line.close();
+        }
+    }
+}
@@ -0,0 +1,371 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Klien untuk {@link NetServer}: cermin state meja tanpa tampilan; NetGameFrame menggambarnya
+ * dengan papan permainan. Setelah JOIN klien menerima SNAPSHOT utuh, lalu hanya DELTA per
+ * lemparan. Jika nomor urut DELTA melompat, klien berhenti menerapkan delta dan meminta RESYNC.
+ * Banyak klien bisa berbagi satu Selector, jadi uji beban ratusan klien cukup satu thread.
+ */
+public class NetClient implements AutoCloseable {
+
+    private final String name;
+    private SocketChannel ch;
+    private SelectionKey key;
+    private ByteBuffer in = ByteBuffer.allocate(4096);
+    private ByteBuffer out = ByteBuffer.allocate(256);
+
+    private BoardModel board;
+    private int table = -1;
+    private int seat = -1;
+    // JOIN terakhir yang dikirim, untuk rejoin()
+    private int joinTable = -1;
+    private int joinSeat = -1;
+    private int players;
+    private String[] names = new String[0];
+    private int[] positions = new int[0];
+    private int[] points = new int[0];
+    private int current;
+    private int turns;
+    private int seq;
+    private int lastRoll;
+    private boolean ended;
+    private boolean synced;
+    private byte lastError;
+    private long bytesRead;
+
+    public NetClient(String name) {
+        this.name = name;
+    }
+
+    /** Tersambung ke server dan didaftarkan ke {@code selector}; bisa dipanggil lagi setelah koneksi putus. */
+    public void connect(InetSocketAddress address, Selector selector) throws IOException {
+        close();
+        ch = SocketChannel.open(address);
+        ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        ch.configureBlocking(false);
+        key = ch.register(selector, SelectionKey.OP_READ, this);
+        in.clear();
+        out.clear();
+        synced = false;
+    }
+
+    public void join(int table, int seat) throws IOException {
+        joinTable = table;
+        joinSeat = seat;
+        lastError = 0;
+        out = NetProtocol.join(out, table, seat, name);
+        flush();
+    }
+
+    /** Mengirim ulang JOIN terakhir, misalnya setelah ditolak dengan {@link #isJoinRejected}. */
+    public void rejoin() throws IOException {
+        join(joinTable, joinSeat);
+    }
+
+    public void roll() throws IOException {
+        out = NetProtocol.roll(out);
+        flush();
+    }
+
+    public void resync() throws IOException {
+        synced = false;
+        out = NetProtocol.resync(out);
+        flush();
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        ch.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    /** Membaca dan menerapkan semua frame yang sudah tiba; hasilnya tipe frame terakhir, 0 jika tidak ada, -1 jika server menutup. */
+    public int read() throws IOException {
+        int n = ch.read(in);
+        if (n < 0) return -1;
+        bytesRead += n;
+        in.flip();
+        int last = 0;
+        int len;
+        while ((len = NetProtocol.frameLength(in, NetProtocol.MAX_FRAME)) > 0) {
+            int start = in.position();
+            last = in.get(start + 4);
+            handle((byte) last, in.slice(start + NetProtocol.HEADER, len - NetProtocol.HEADER));
+            in.position(start + len);
+        }
+        // Snapshot papan besar bisa lebih panjang dari buffer
+        int need = NetProtocol.pendingFrameSize(in);
+        in.compact();
+        if (need > in.capacity()) in = NetProtocol.ensure(in, need);
+        return last;
+    }
+
+    private void handle(byte type, ByteBuffer p) throws IOException {
+        switch (type) {
+            case NetProtocol.WELCOME -> {
+                table = p.getInt();
+                seat = p.get();
+                players = p.get();
+                names = new String[players];
+                positions = new int[players];
+                points = new int[players];
+                Arrays.fill(positions, 1);
+            }
+            case NetProtocol.SNAPSHOT -> applySnapshot(p);
+            case NetProtocol.DELTA -> {
+                int s = p.getInt();
+                if (!synced) return;
+                if (s != seq + 1) {
+                    resync();
+                    return;
+                }
+                int who = p.get();
+                lastRoll = p.get();
+                positions[who] = p.getInt();
+                points[who] = p.getInt();
+                ended = p.get() != 0;
+                turns++;
+                if (!ended) current = (who + 1) % players;
+                seq = s;
+            }
+            case NetProtocol.ERROR -> lastError = p.get();
+            default -> throw new IOException("Tipe frame tidak dikenal: " + type);
+        }
+    }
+
+    private void applySnapshot(ByteBuffer p) throws IOException {
+        seq = p.getInt();
+        byte[] data = new byte[p.remaining()];
+        p.get(data);
+        GameSnapshot snap = GameSnapshot.fromBytes(data);
+        board = snap.getBoard();
+        int i = 0;
+        for (Player pl : snap.createPlayers()) {
+            names[i] = pl.getName();
+            positions[i] = pl.getPosition();
+            points[i] = pl.getBonusPoints();
+            i++;
+        }
+        current = snap.getCurrentPlayer();
+        ended = snap.isGameEnded();
+        turns = snap.getTurnsPlayed();
+        synced = true;
+    }
+
+    public BoardModel getBoard() {
+        return board;
+    }
+
+    public int getTable() {
+        return table;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public String getName(int player) {
+        return names[player];
+    }
+
+    public int getPosition(int player) {
+        return positions[player];
+    }
+
+    public int getPoints(int player) {
+        return points[player];
+    }
+
+    public int getCurrentPlayer() {
+        return current;
+    }
+
+    public int getTurnsPlayed() {
+        return turns;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    /** Mata dadu DELTA terakhir; negatif untuk dadu merah, 0 jika belum ada lemparan sejak tersambung. */
+    public int getLastRoll() {
+        return lastRoll;
+    }
+
+    public boolean isGameEnded() {
+        return ended;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public boolean isMyTurn() {
+        return synced && !ended && current == seat;
+    }
+
+    public byte getLastError() {
+        return lastError;
+    }
+
+    public void clearLastError() {
+        lastError = 0;
+    }
+
+    /** True jika JOIN terakhir ditolak dan klien belum punya kursi; kirim rejoin() atau tampilkan errornya. */
+    public boolean isJoinRejected() {
+        return !synced && lastError != 0;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** Apakah cermin ini sama dengan state meja di server. */
+    public boolean matches(GameSnapshot snap) {
+        if (snap.getCurrentPlayer() != current || snap.isGameEnded() != ended || snap.getTurnsPlayed() != turns) return false;
+        int i = 0;
+        for (Player pl : snap.createPlayers()) {
+            if (pl.getPosition() != positions[i] || pl.getBonusPoints() != points[i]) return false;
+            i++;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ch != null) {
+            key.cancel();
+            ch.close();
+            ch = null;
+        }
+    }
+
+    /**
+     * Uji beban lewat loopback: {@code java NetClient [klien] [pemain per meja] [detik]}. Setiap klien
+     * melempar dadu pada gilirannya; sesekali satu koneksi diputus lalu bergabung lagi ke kursinya.
+     * Di akhir semua cermin klien dibandingkan dengan state server; kode keluar 1 jika ada cermin
+     * yang tidak cocok atau meja yang berhenti bergerak di detik terakhir.
+     */
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int perTable = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long seed = Long.getLong("ular.seed", 42L);
+        count -= count % perTable;
+        boolean failed = false;
+
+        BoardModel board = BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(seed));
+        try (NetServer server = new NetServer(board, perTable, seed); Selector selector = Selector.open()) {
+            InetSocketAddress address = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            NetClient[] clients = new NetClient[count];
+            long[] sentAt = new long[count];
+            int[] sentSeq = new int[count];
+            for (int i = 0; i < count; i++) {
+                clients[i] = new NetClient("Klien " + i);
+                clients[i].connect(address, selector);
+                clients[i].join(i / perTable, i % perTable);
+            }
+
+            LatencyHistogram latency = new LatencyHistogram();
+            SplittableRandom random = new SplittableRandom(seed);
+            long rolls = 0;
+            int reconnects = 0;
+            int rejoins = 0;
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+            // Nomor urut setiap meja satu detik sebelum selesai; meja yang tidak berubah sejak itu macet
+            long sampleAt = Math.max(System.nanoTime(), end - 1_000_000_000L);
+            int[] sampledSeq = null;
+            boolean rolling = true;
+            long drainUntil = Long.MAX_VALUE;
+            while (System.nanoTime() < drainUntil) {
+                if (sampledSeq == null && System.nanoTime() >= sampleAt) sampledSeq = tableSequences(server, count / perTable);
+                if (rolling && System.nanoTime() >= end) {
+                    rolling = false;
+                    drainUntil = System.nanoTime() + 300_000_000L;
+                }
+                selector.select(10);
+                for (SelectionKey k : selector.selectedKeys()) {
+                    NetClient c = (NetClient) k.attachment();
+                    if (k.isValid() && k.isWritable()) c.flush();
+                    if (k.isValid() && k.isReadable() && c.read() < 0) c.close();
+                }
+                selector.selectedKeys().clear();
+                if (!rolling) continue;
+                for (int i = 0; i < count; i++) {
+                    NetClient c = clients[i];
+                    if (c.isJoinRejected()) {
+                        c.rejoin();
+                        rejoins++;
+                        continue;
+                    }
+                    if (sentAt[i] != 0) {
+                        // Lemparan selesai begitu nomor urut berubah (DELTA atau SNAPSHOT game baru) atau ada error
+                        if (c.seq != sentSeq[i] || c.lastError != 0) {
+                            if (c.lastError == 0) latency.record(System.nanoTime() - sentAt[i]);
+                            sentAt[i] = 0;
+                            c.lastError = 0;
+                        }
+                        continue;
+                    }
+                    if (c.isMyTurn() || (c.synced && c.ended && c.seat == 0)) {
+                        c.roll();
+                        sentAt[i] = System.nanoTime();
+                        sentSeq[i] = c.seq;
+                        rolls++;
+                        if (rolls % 2000 == 0) {
+                            int victim = random.nextInt(count);
+                            clients[victim].connect(address, selector);
+                            clients[victim].join(victim / perTable, victim % perTable);
+                            sentAt[victim] = 0;
+                            reconnects++;
+                        }
+                    }
+                }
+            }
+
+            int mismatches = 0;
+            long bytes = 0;
+            for (NetClient c : clients) {
+                if (c.table < 0 || !c.matches(server.snapshot(c.table))) mismatches++;
+                bytes += c.bytesRead;
+            }
+            int[] finalSeq = tableSequences(server, count / perTable);
+            int stalled = 0;
+            for (int t = 0; t < finalSeq.length; t++) if (finalSeq[t] == sampledSeq[t]) stalled++;
+            System.out.printf("%d klien, %d meja, %d lemparan (%.0f/detik), %d sambung ulang, %d JOIN diulang%n",
+                    count, count / perTable, rolls, rolls / (double) seconds, reconnects, rejoins);
+            System.out.printf("DELTA %d byte, SNAPSHOT %d byte, rata-rata diterima %.1f byte per lemparan per klien%n",
+                    NetProtocol.DELTA_SIZE, NetProtocol.HEADER + 4 + server.snapshot(0).toBytes().length,
+                    bytes / (double) Math.max(1, rolls * perTable));
+            System.out.println("latensi lempar -> delta: " + latency.summary());
+            System.out.println("cermin tidak cocok dengan server: " + mismatches);
+            System.out.println("meja macet: " + stalled);
+            for (NetClient c : clients) c.close();
+            if (mismatches > 0 || stalled > 0) failed = true;
+        }
+        if (failed) System.exit(1);
+    }
+
+    private static int[] tableSequences(NetServer server, int tables) {
+        int[] seq = new int[tables];
+        for (int t = 0; t < tables; t++) seq[t] = server.sequence(t);
+        return seq;
+    }
+}
@@ -0,0 +1,264 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Jendela pemain jarak jauh: cermin NetClient digambar dengan BoardCanvas dan ControlPanel yang
+ * sama dengan permainan lokal. Server memegang dadu, jadi tombol lempar hanya mengirim ROLL dan
+ * aktif pada giliran kursi ini. Selector klien dibaca tanpa blok oleh javax.swing.Timer di EDT,
+ * jadi state klien hanya disentuh satu thread; hanya connect yang bisa lama berjalan di thread
+ * latar. Koneksi yang putus disambung lagi ke kursi yang sama dan menerima SNAPSHOT.
+ *
+ * {@code java NetGameFrame host:port [meja] [kursi] [nama]}; kursi -1 berarti kursi kosong mana pun.
+ */
+public class NetGameFrame extends JFrame {
+
+    private static final int JEDA_BACA_MS = 15;
+    private static final long JEDA_SAMBUNG_ULANG = 2_000_000_000L;
+
+    private final InetSocketAddress address;
+    private final int table;
+    private final int seat;
+    private final NetClient client;
+    private final Runnable onLobby;
+    private final Selector selector;
+    private final Timer timer;
+    private final JLabel statusLabel = new JLabel("Menyambung ke server...");
+    private final JPanel main = new JPanel(new BorderLayout());
+    private BoardCanvas boardCanvas;
+    private ControlPanel controlPanel;
+    private PlayerStore players;
+    private RankingIndex ranking;
+    private boolean connecting;
+    // Waktu percobaan sambung berikutnya, 0 jika tersambung
+    private long reconnectAt;
+
+    /** @param onLobby dijalankan saat pemain menekan tombol lobby, setelah jendela ini ditutup */
+    public NetGameFrame(InetSocketAddress address, int table, int seat, String name, Runnable onLobby) throws IOException {
+        this.address = address;
+        this.table = table;
+        this.seat = seat;
+        this.client = new NetClient(name);
+        this.onLobby = onLobby;
+        this.selector = Selector.open();
+        setTitle("🌐 Ular Tangga Online - Meja " + table);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        statusLabel.setForeground(Color.WHITE);
+        statusLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.CENTER, 12, 8));
+        bar.setBackground(new Color(0x004D40));
+        bar.setBorder(BorderFactory.createMatteBorder(4, 0, 0, 0, Color.YELLOW));
+        bar.add(statusLabel);
+        main.setBackground(Color.BLACK);
+        main.setPreferredSize(new Dimension(480, 360));
+        main.add(bar, BorderLayout.SOUTH);
+        setContentPane(main);
+
+        timer = new Timer(JEDA_BACA_MS, e -> poll());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                shutdown();
+            }
+        });
+        pack();
+        setLocationRelativeTo(null);
+        connect();
+        timer.start();
+    }
+
+    // SocketChannel.open memblok sampai tersambung, jadi dijalankan di luar EDT
+    private void connect() {
+        connecting = true;
+        CompletableFuture.runAsync(() -> {
+            try {
+                client.connect(address, selector);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, AssetManager.loader()).whenComplete((v, err) -> SwingUtilities.invokeLater(() -> connected(err)));
+    }
+
+    private void connected(Throwable err) {
+        connecting = false;
+        if (!isDisplayable()) return;
+        if (err != null) {
+            lost(err.getCause() != null ? err.getCause().getMessage() : err.getMessage());
+            return;
+        }
+        try {
+            // Setelah tersambung lagi, kembali ke kursi yang diberikan server
+            client.join(table, client.getSeat() >= 0 ? client.getSeat() : seat);
+            reconnectAt = 0;
+            statusLabel.setText("Bergabung ke meja " + table + "...");
+        } catch (IOException e) {
+            lost(e.getMessage());
+        }
+    }
+
+    private void lost(String reason) {
+        try {
+            client.close();
+        } catch (IOException ignored) {
+            // koneksi memang sudah putus
+        }
+        reconnectAt = System.nanoTime() + JEDA_SAMBUNG_ULANG;
+        if (controlPanel != null) controlPanel.getRollButton().setEnabled(false);
+        statusLabel.setText("Koneksi terputus (" + reason + "), menyambung lagi...");
+    }
+
+    private void poll() {
+        if (connecting) return;
+        if (reconnectAt != 0) {
+            if (System.nanoTime() >= reconnectAt) connect();
+            return;
+        }
+        boolean changed = false;
+        try {
+            selector.selectNow();
+            for (SelectionKey k : selector.selectedKeys()) {
+                if (k.isValid() && k.isWritable()) client.flush();
+                if (k.isValid() && k.isReadable()) {
+                    int type = client.read();
+                    if (type < 0) throw new IOException("server menutup koneksi");
+                    changed |= type != 0;
+                }
+            }
+        } catch (IOException e) {
+            lost(e.getMessage());
+            return;
+        } finally {
+            selector.selectedKeys().clear();
+        }
+        if (changed) refresh();
+    }
+
+    private void roll() {
+        controlPanel.getRollButton().setEnabled(false);
+        try {
+            client.roll();
+        } catch (IOException e) {
+            lost(e.getMessage());
+        }
+    }
+
+    /** Menyalin cermin klien ke papan dan panel; hanya petak yang bidaknya berpindah yang di-repaint. */
+    private void refresh() {
+        if (client.isJoinRejected()) {
+            timer.stop();
+            JOptionPane.showMessageDialog(this, NetProtocol.describeError(client.getLastError()) + ".",
+                    "Ular Tangga Online", JOptionPane.WARNING_MESSAGE);
+            dispose();
+            return;
+        }
+        if (!client.isSynced()) return;
+        if (boardCanvas == null) createGame();
+        if (!sameNames()) setPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            int pos = client.getPosition(i);
+            if (players.position(i) != pos) {
+                boardCanvas.repaintSquare(players.position(i));
+                players.setPosition(i, pos);
+                boardCanvas.repaintSquare(pos);
+            }
+            players.addPoints(i, client.getPoints(i) - players.points(i));
+        }
+        int current = client.getCurrentPlayer();
+        controlPanel.update(players.asList(), current, ranking);
+        int roll = client.getLastRoll();
+        controlPanel.getDiceDisplay().setDiceValue(Math.abs(roll), roll < 0);
+        controlPanel.getRollButton().setEnabled(client.isMyTurn() || client.isGameEnded());
+        if (client.getLastError() != 0) {
+            statusLabel.setText(NetProtocol.describeError(client.getLastError()));
+            client.clearLastError();
+        } else if (client.isGameEnded()) {
+            statusLabel.setText(players.name(current) + " menang! Lempar untuk memulai game baru.");
+        } else if (client.isMyTurn()) {
+            statusLabel.setText("Giliranmu, " + players.name(client.getSeat()) + "!");
+        } else {
+            statusLabel.setText("Menunggu giliran " + players.name(current));
+        }
+    }
+
+    // Server memakai satu papan selama hidupnya, jadi papan dan panel dibuat sekali dari SNAPSHOT pertama
+    private void createGame() {
+        BoardModel board = client.getBoard();
+        boardCanvas = new BoardCanvas(board, AssetManager.shared());
+        setPlayers();
+        JScrollPane viewport = new JScrollPane(boardCanvas);
+        viewport.setBorder(null);
+        viewport.getViewport().setBackground(Color.BLACK);
+        viewport.getViewport().addChangeListener(e -> boardCanvas.getMinimap().repaint());
+        controlPanel = new ControlPanel(board.getSize() > PapanUlarTanggaGUI.UKURAN_PAPAN ? boardCanvas.getMinimap() : null,
+                new int[] {0}, e -> roll(), k -> { }, () -> { }, () -> {
+                    dispose();
+                    SwingUtilities.invokeLater(onLobby);
+                });
+        main.setPreferredSize(null);
+        main.add(viewport, BorderLayout.CENTER);
+        main.add(controlPanel, BorderLayout.EAST);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private boolean sameNames() {
+        if (players.size() != client.getPlayers()) return false;
+        for (int i = 0; i < players.size(); i++) {
+            if (!players.name(i).equals(client.getName(i))) return false;
+        }
+        return true;
+    }
+
+    // Nama kursi berubah saat pemain bergabung; warna sama dengan yang dipakai server di snapshot
+    private void setPlayers() {
+        players = new PlayerStore(client.getPlayers());
+        players.setMaxPosition(client.getBoard().getFinish());
+        for (int i = 0; i < client.getPlayers(); i++) {
+            int p = players.add(client.getName(i), PapanUlarTanggaGUI.PLAYER_COLORS[i % PapanUlarTanggaGUI.PLAYER_COLORS.length]);
+            players.setPosition(p, client.getPosition(i));
+            players.addPoints(p, client.getPoints(i));
+        }
+        ranking = new RankingIndex(players);
+        boardCanvas.setPlayers(players.asList());
+    }
+
+    private void shutdown() {
+        timer.stop();
+        try {
+            client.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Gagal menutup koneksi: " + e.getMessage());
+        }
+    }
+
+    /** Alamat "host:port" atau "host"; tanpa port dipakai {@link NetProtocol#PORT_BAWAAN}. */
+    static InetSocketAddress parseAddress(String text) {
+        text = text.trim();
+        int colon = text.lastIndexOf(':');
+        if (colon < 0) return new InetSocketAddress(text, NetProtocol.PORT_BAWAAN);
+        return new InetSocketAddress(text.substring(0, colon), Integer.parseInt(text.substring(colon + 1)));
+    }
+
+    public static void main(String[] args) {
+        InetSocketAddress address = parseAddress(args.length > 0 ? args[0] : "localhost");
+        int table = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int seat = args.length > 2 ? Integer.parseInt(args[2]) : -1;
+        String name = args.length > 3 ? args[3] : System.getProperty("user.name", "Pemain");
+        SwingUtilities.invokeLater(() -> {
+            try {
+                new NetGameFrame(address, table, seat, name, () -> new LobbyFrame(new PapanUlarTanggaGUI())).setVisible(true);
+            } catch (IOException e) {
+                System.err.println("Gagal membuka jendela online: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protokol biner untuk pemain jarak jauh. Setiap frame: int panjang (tipe + isi), byte tipe, isi.
+ * Server memegang dadu dan state permainan; klien hanya mengirim JOIN, ROLL dan RESYNC, lalu
+ * menerapkan DELTA kecil per lemparan. Setiap DELTA punya nomor urut, jadi klien yang melihat
+ * nomor melompat (atau baru tersambung lagi) meminta SNAPSHOT utuh lewat RESYNC.
+ *
+ * <pre>
+ * JOIN      klien  int meja, byte kursi (-1 = bebas), short panjang nama, nama UTF-8
+ * ROLL      klien  -
+ * RESYNC    klien  -
+ * WELCOME   server int meja, byte kursi, byte jumlah pemain
+ * DELTA     server int urutan, byte kursi, byte dadu, int posisi, int poin, byte selesai
+ * SNAPSHOT  server int urutan, byte GameSnapshot (state acak selalu 0)
+ * ERROR     server byte kode
+ * </pre>
+ */
+public final class NetProtocol {
+
+    public static final byte JOIN = 1;
+    public static final byte ROLL = 2;
+    public static final byte RESYNC = 3;
+    public static final byte WELCOME = 4;
+    public static final byte DELTA = 5;
+    public static final byte SNAPSHOT = 6;
+    public static final byte ERROR = 7;
+
+    public static final byte ERR_BELUM_JOIN = 1;
+    public static final byte ERR_KURSI_TERPAKAI = 2;
+    public static final byte ERR_BUKAN_GILIRAN = 3;
+    public static final byte ERR_MEJA_BELUM_PENUH = 4;
+    public static final byte ERR_PESAN_TIDAK_DIKENAL = 5;
+    public static final byte ERR_PESAN_RUSAK = 6;
+
+    public static final int PORT_BAWAAN = 5050;
+
+    /** int panjang + byte tipe */
+    public static final int HEADER = 5;
+    public static final int DELTA_SIZE = HEADER + 15;
+    /** Batas frame dari klien; dari server batasnya MAX_FRAME karena snapshot papan besar */
+    public static final int MAX_FRAME_KLIEN = 1024;
+    public static final int MAX_FRAME = 1 << 26;
+
+    private NetProtocol() {
+    }
+
+    /** Buffer (mode tulis) dengan sisa ruang minimal {@code extra}; isi lama ikut disalin jika perlu membesar. */
+    public static ByteBuffer ensure(ByteBuffer buf, int extra) {
+        if (buf.remaining() >= extra) return buf;
+        int cap = Math.max(buf.capacity() * 2, buf.position() + extra);
+        ByteBuffer bigger = ByteBuffer.allocate(cap);
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+
+    private static ByteBuffer begin(ByteBuffer out, byte type, int payload) {
+        out = ensure(out, HEADER + payload);
+        out.putInt(payload + 1).put(type);
+        return out;
+    }
+
+    public static ByteBuffer join(ByteBuffer out, int table, int seat, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > 255) throw new IllegalArgumentException("Nama terlalu panjang");
+        out = begin(out, JOIN, 4 + 1 + 2 + nameBytes.length);
+        return out.putInt(table).put((byte) seat).putShort((short) nameBytes.length).put(nameBytes);
+    }
+
+    public static ByteBuffer roll(ByteBuffer out) {
+        return begin(out, ROLL, 0);
+    }
+
+    public static ByteBuffer resync(ByteBuffer out) {
+        return begin(out, RESYNC, 0);
+    }
+
+    public static ByteBuffer welcome(ByteBuffer out, int table, int seat, int players) {
+        return begin(out, WELCOME, 6).putInt(table).put((byte) seat).put((byte) players);
+    }
+
+    public static ByteBuffer delta(ByteBuffer out, int seq, int seat, int roll, int position, int points, boolean ended) {
+        return begin(out, DELTA, 15).putInt(seq).put((byte) seat).put((byte) roll)
+                .putInt(position).putInt(points).put((byte) (ended ? 1 : 0));
+    }
+
+    public static ByteBuffer snapshot(ByteBuffer out, int seq, byte[] snapshot) {
+        return begin(out, SNAPSHOT, 4 + snapshot.length).putInt(seq).put(snapshot);
+    }
+
+    public static ByteBuffer error(ByteBuffer out, byte code) {
+        return begin(out, ERROR, 1).put(code);
+    }
+
+    /** Pesan untuk pemain dari kode ERROR. */
+    public static String describeError(byte code) {
+        return switch (code) {
+            case ERR_BELUM_JOIN -> "Belum bergabung ke meja";
+            case ERR_KURSI_TERPAKAI -> "Kursi sudah dipakai pemain lain";
+            case ERR_BUKAN_GILIRAN -> "Bukan giliranmu";
+            case ERR_MEJA_BELUM_PENUH -> "Menunggu semua kursi terisi";
+            case ERR_PESAN_TIDAK_DIKENAL -> "Server tidak mengenali pesan";
+            case ERR_PESAN_RUSAK -> "Pesan rusak";
+            default -> "Error " + code;
+        };
+    }
+
+    /** True jika isi JOIN di {@code p} lengkap, termasuk nama sepanjang yang disebutkan. */
+    public static boolean isCompleteJoin(ByteBuffer p) {
+        int fixed = 4 + 1 + 2;
+        return p.remaining() >= fixed && p.remaining() >= fixed + (p.getShort(p.position() + 5) & 0xFFFF);
+    }
+
+    public static String readName(ByteBuffer in) {
+        byte[] name = new byte[in.getShort() & 0xFFFF];
+        in.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Panjang frame utuh berikutnya di {@code in} (mode baca) termasuk header, atau 0 jika
+     * datanya belum lengkap. Panjang di luar batas berarti peer rusak atau nakal.
+     */
+    public static int frameLength(ByteBuffer in, int max) throws IOException {
+        if (in.remaining() < 4) return 0;
+        int len = in.getInt(in.position());
+        if (len < 1 || len > max) throw new IOException("Panjang frame tidak valid: " + len);
+        return in.remaining() >= 4 + len ? 4 + len : 0;
+    }
+
+    /** Kapasitas yang dibutuhkan untuk menampung frame yang sedang dibaca, atau 0 jika belum diketahui. */
+    public static int pendingFrameSize(ByteBuffer in) {
+        return in.remaining() < 4 ? 0 : 4 + in.getInt(in.position());
+    }
+}
@@ -0,0 +1,369 @@
+import java.awt.Color;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server permainan jarak jauh di atas satu Selector NIO. Server memegang dadu dan semua state:
+ * klien hanya boleh meminta lemparan pada gilirannya, lalu setiap pemain di meja menerima DELTA.
+ * Meja dibuat saat JOIN pertama dan dimulai setelah semua kursi terisi. Koneksi yang putus
+ * mengosongkan kursinya tanpa menghapus posisi dan poin, jadi pemain bisa JOIN lagi ke kursi yang
+ * sama dan menerima SNAPSHOT. JOIN dengan nama yang sama mengambil alih kursi yang masih dipegang
+ * koneksi lama yang putusnya belum terbaca. ROLL setelah game selesai memulai game baru di meja yang sama.
+ * Semua state hanya diubah oleh thread selector; snapshot dari thread lain dikunci per meja.
+ */
+public class NetServer implements Runnable, AutoCloseable {
+
+    private final GameEngine engine;
+    private final int playersPerTable;
+    private final DiceSource.Seeded dice;
+    private final ConcurrentHashMap<Integer, Table> tables = new ConcurrentHashMap<>();
+    // Frame baru dikumpulkan dulu, lalu dikirim sekali per koneksi setelah semua key siap diproses
+    private final List<Conn> touched = new ArrayList<>();
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread thread;
+    private volatile boolean running;
+
+    public NetServer(BoardModel board, int playersPerTable, long seed) {
+        if (playersPerTable < SessionHost.MIN_PEMAIN || playersPerTable > SessionHost.MAX_PEMAIN) {
+            throw new IllegalArgumentException("Jumlah pemain per meja harus "
+                    + SessionHost.MIN_PEMAIN + "-" + SessionHost.MAX_PEMAIN + ": " + playersPerTable);
+        }
+        this.engine = new GameEngine(board);
+        this.playersPerTable = playersPerTable;
+        this.dice = DiceSource.seeded(seed);
+    }
+
+    /** Membuka port dan menjalankan loop selector di thread sendiri; hasilnya alamat yang benar-benar dipakai. */
+    public InetSocketAddress start(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address, 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        thread = new Thread(this, "net-server");
+        thread.start();
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.err.println("Selector gagal: " + e.getMessage());
+                return;
+            }
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                if (!key.isValid()) continue;
+                try {
+                    if (key.isAcceptable()) accept();
+                    else {
+                        Conn c = (Conn) key.attachment();
+                        if (key.isReadable()) read(c);
+                        if (key.isValid() && key.isWritable()) flush(c);
+                    }
+                } catch (IOException e) {
+                    drop((Conn) key.attachment());
+                } catch (RuntimeException e) {
+                    // Satu peer yang mengirim data aneh tidak boleh menghentikan thread selector semua meja
+                    System.err.println("Koneksi diputus karena galat: " + e);
+                    drop((Conn) key.attachment());
+                }
+            }
+            flushTouched();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = server.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Conn c = new Conn(ch);
+            c.key = ch.register(selector, SelectionKey.OP_READ, c);
+        }
+    }
+
+    private void read(Conn c) throws IOException {
+        if (c.ch.read(c.in) < 0) {
+            drop(c);
+            return;
+        }
+        c.in.flip();
+        int len;
+        while ((len = NetProtocol.frameLength(c.in, NetProtocol.MAX_FRAME_KLIEN)) > 0) {
+            int start = c.in.position();
+            byte type = c.in.get(start + 4);
+            handle(c, type, c.in.slice(start + NetProtocol.HEADER, len - NetProtocol.HEADER));
+            c.in.position(start + len);
+        }
+        c.in.compact();
+    }
+
+    private void handle(Conn c, byte type, ByteBuffer p) {
+        switch (type) {
+            case NetProtocol.JOIN -> {
+                if (NetProtocol.isCompleteJoin(p)) join(c, p.getInt(), p.get(), NetProtocol.readName(p));
+                else send(c, NetProtocol.error(c.out, NetProtocol.ERR_PESAN_RUSAK));
+            }
+            case NetProtocol.ROLL -> roll(c);
+            case NetProtocol.RESYNC -> {
+                if (c.table == null) send(c, NetProtocol.error(c.out, NetProtocol.ERR_BELUM_JOIN));
+                else sendSnapshot(c, c.table);
+            }
+            default -> send(c, NetProtocol.error(c.out, NetProtocol.ERR_PESAN_TIDAK_DIKENAL));
+        }
+    }
+
+    private void join(Conn c, int tableId, int seat, String name) {
+        if (c.table != null) leave(c);
+        Table t = tables.computeIfAbsent(tableId, Table::new);
+        if (seat < 0) {
+            for (int i = 0; i < playersPerTable && seat < 0; i++) if (t.seats[i] == null && t.names[i] == null) seat = i;
+            for (int i = 0; i < playersPerTable && seat < 0; i++) if (t.seats[i] == null) seat = i;
+        }
+        if (seat < 0 || seat >= playersPerTable) {
+            send(c, NetProtocol.error(c.out, NetProtocol.ERR_KURSI_TERPAKAI));
+            return;
+        }
+        if (t.seats[seat] != null) {
+            // Pemain yang tersambung lagi sebelum EOF koneksi lamanya terbaca mengambil alih kursinya
+            if (!name.equals(t.names[seat])) {
+                send(c, NetProtocol.error(c.out, NetProtocol.ERR_KURSI_TERPAKAI));
+                return;
+            }
+            drop(t.seats[seat]);
+        }
+        synchronized (t) {
+            t.seats[seat] = c;
+            t.names[seat] = name;
+        }
+        c.table = t;
+        c.seat = seat;
+        send(c, NetProtocol.welcome(c.out, tableId, seat, playersPerTable));
+        // Pemain lain di meja ikut menerima snapshot supaya nama kursi ini muncul di layarnya
+        for (Conn other : t.seats) if (other != null) sendSnapshot(other, t);
+    }
+
+    private void roll(Conn c) {
+        Table t = c.table;
+        if (t == null) {
+            send(c, NetProtocol.error(c.out, NetProtocol.ERR_BELUM_JOIN));
+            return;
+        }
+        if (t.ended) {
+            t.reset();
+            for (Conn other : t.seats) if (other != null) sendSnapshot(other, t);
+            return;
+        }
+        if (t.current != c.seat) {
+            send(c, NetProtocol.error(c.out, NetProtocol.ERR_BUKAN_GILIRAN));
+            return;
+        }
+        for (Conn other : t.seats) {
+            if (other == null) {
+                send(c, NetProtocol.error(c.out, NetProtocol.ERR_MEJA_BELUM_PENUH));
+                return;
+            }
+        }
+        int roll = t.dice.roll();
+        int seat = c.seat;
+        int pos, pts, seq;
+        synchronized (t) {
+            pos = engine.finalPosition(t.positions[seat], roll);
+            t.positions[seat] = pos;
+            t.points[seat] += engine.getBonus(pos);
+            pts = t.points[seat];
+            t.turns++;
+            t.ended = pos == engine.getFinish() || t.turns >= GameEngine.MAX_GILIRAN;
+            if (!t.ended) t.current = (seat + 1) % playersPerTable;
+            seq = ++t.seq;
+        }
+        for (Conn other : t.seats) {
+            other.out = NetProtocol.delta(other.out, seq, seat, roll, pos, pts, t.ended);
+            touch(other);
+        }
+    }
+
+    private void sendSnapshot(Conn c, Table t) {
+        send(c, NetProtocol.snapshot(c.out, t.seq, t.snapshot().toBytes()));
+    }
+
+    private void send(Conn c, ByteBuffer out) {
+        c.out = out;
+        touch(c);
+    }
+
+    private void touch(Conn c) {
+        if (!c.touched) {
+            c.touched = true;
+            touched.add(c);
+        }
+    }
+
+    private void flushTouched() {
+        for (int i = 0; i < touched.size(); i++) {
+            Conn c = touched.get(i);
+            c.touched = false;
+            try {
+                flush(c);
+            } catch (IOException e) {
+                drop(c);
+            }
+        }
+        touched.clear();
+    }
+
+    private void flush(Conn c) throws IOException {
+        if (!c.key.isValid()) return;
+        c.out.flip();
+        c.ch.write(c.out);
+        boolean pending = c.out.hasRemaining();
+        c.out.compact();
+        int ops = pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (c.key.interestOps() != ops) c.key.interestOps(ops);
+    }
+
+    private void leave(Conn c) {
+        Table t = c.table;
+        if (t != null && t.seats[c.seat] == c) {
+            synchronized (t) {
+                t.seats[c.seat] = null;
+            }
+        }
+        c.table = null;
+    }
+
+    private void drop(Conn c) {
+        if (c == null) return;
+        leave(c);
+        c.key.cancel();
+        try {
+            c.ch.close();
+        } catch (IOException ignored) {
+            // koneksi memang sedang ditutup
+        }
+    }
+
+    /** Nomor urut terakhir meja (naik pada setiap lemparan dan game baru), atau -1 jika meja belum ada. */
+    public int sequence(int tableId) {
+        Table t = tables.get(tableId);
+        if (t == null) return -1;
+        synchronized (t) {
+            return t.seq;
+        }
+    }
+
+    /** State meja saat ini untuk pemantauan atau pengujian, atau null jika meja belum ada. */
+    public GameSnapshot snapshot(int tableId) {
+        Table t = tables.get(tableId);
+        return t == null ? null : t.snapshot();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (selector != null) selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (selector != null) {
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        }
+    }
+
+    /**
+     * Menjalankan server sampai proses dihentikan: {@code java NetServer [port] [pemain per meja] [seed]}.
+     * Papannya papan -Dular.board jika ada, selain itu papan bawaan.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : NetProtocol.PORT_BAWAAN;
+        int perTable = args.length > 1 ? Integer.parseInt(args[1]) : SessionHost.MIN_PEMAIN;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        BoardModel custom = PapanUlarTanggaGUI.customBoard();
+        BoardModel board = custom != null ? custom : BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(seed));
+        NetServer server = new NetServer(board, perTable, seed);
+        InetSocketAddress address = server.start(new InetSocketAddress(port));
+        System.out.println("Server Ular Tangga di port " + address.getPort() + ", " + perTable + " pemain per meja, seed " + seed);
+        server.thread.join();
+    }
+
+    private static final class Conn {
+        final SocketChannel ch;
+        // Frame terbesar yang diterima adalah 4 byte panjang + MAX_FRAME_KLIEN
+        final ByteBuffer in = ByteBuffer.allocate(4 + NetProtocol.MAX_FRAME_KLIEN);
+        ByteBuffer out = ByteBuffer.allocate(256);
+        SelectionKey key;
+        Table table;
+        int seat = -1;
+        boolean touched;
+
+        Conn(SocketChannel ch) {
+            this.ch = ch;
+        }
+    }
+
+    private final class Table {
+        final int id;
+        final DiceSource.Seeded dice;
+        final Conn[] seats = new Conn[playersPerTable];
+        final String[] names = new String[playersPerTable];
+        final int[] positions = new int[playersPerTable];
+        final int[] points = new int[playersPerTable];
+        int current;
+        int turns;
+        int seq;
+        boolean ended;
+
+        Table(int id) {
+            this.id = id;
+            this.dice = NetServer.this.dice.split();
+            Arrays.fill(positions, 1);
+        }
+
+        synchronized void reset() {
+            Arrays.fill(positions, 1);
+            Arrays.fill(points, 0);
+            current = 0;
+            turns = 0;
+            ended = false;
+            seq++;
+        }
+
+        synchronized GameSnapshot snapshot() {
+            List<Player> list = new ArrayList<>(playersPerTable);
+            for (int i = 0; i < playersPerTable; i++) {
+                Color color = PapanUlarTanggaGUI.PLAYER_COLORS[i % PapanUlarTanggaGUI.PLAYER_COLORS.length];
+                Player p = new Player(names[i] != null ? names[i] : "Kursi " + (i + 1), color);
+                p.setMaxPosition(engine.getFinish());
+                p.setPosition(positions[i]);
+                p.addBonusPoints(points[i]);
+                list.add(p);
+            }
+            // State dadu tidak pernah dikirim supaya klien tidak bisa menebak lemparan berikutnya
+            return new GameSnapshot(engine.getBoard(), list, current, ended, turns, 0L);
+        }
+    }
+}
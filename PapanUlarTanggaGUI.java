@@ -1,118 +1,204 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 import javax.sound.sampled.*;
-import java.io.File;
-import javax.swing.Timer;
 
 public class PapanUlarTanggaGUI extends JFrame {
 
-    private static final int UKURAN_PAPAN = 8;
-    private static final int UKURAN_KOTAK = 70;
+    public static final int UKURAN_PAPAN = 8;
+    public static final int[] PILIHAN_UKURAN_PAPAN = {8, 10, 20, 50, 100, 1000};
 
     public static final Color[] PLAYER_COLORS = {
             new Color(0xFF6B6B), new Color(0x4ECDC4), new Color(0xFFE66D),
             new Color(0x95E1D3), new Color(0xF38181), new Color(0xAA96DA)
     };
 
-    private static final Color BOARD_LIGHT = new Color(0xFFE5E5);
-    private static final Color BOARD_DARK = new Color(0xFFB3BA);
-    private static final Color BOARD_BORDER = new Color(0x8B0000);
-    private static final Color PRIME_COLOR = new Color(0xFFD700);
     private static final Color BUTTON_YELLOW = new Color(0xFFC700);
     private static final Color BUTTON_BORDER = new Color(0xFF8C00);
 
     private List<Player> players;
-    private Map<Integer, SquarePanel> boardSquaresMap;
-    private JButton lemparDaduButton;
-    private DicePanel diceDisplay;
-    private JLabel turnLabel;
-    private JPanel boardPanel;
-    private JPanel playerListPanel;
-    private JPanel leaderboardPanel;
-
-    private Image mainBgImage;
-    private Clip backgroundMusic;
-    public FloatControl volumeControl;
+    private RankingIndex ranking;
+    private ControlPanel controlPanel;
+    private BoardCanvas boardCanvas;
 
-    // Array untuk menyimpan imej bidak 1-6
-    private Image[] playerIcons = new Image[6];
+    private static final String MAIN_BG = "images/BOS_1.png";
+    private MusicPlayer backgroundMusic;
+    public FloatControl volumeControl;
 
-    private final Map<Integer, Integer> links = new HashMap<>();
-    private final Map<Integer, Integer> nodeBonusPoints = new HashMap<>();
-    private final int[][] papanData = new int[UKURAN_PAPAN][UKURAN_PAPAN];
+    private static final String MUSIK = "sound/BOS_2.wav";
+    private static final String SFX_LANGKAH = "sound/BOS_1.wav";
+    private static final String SFX_MENANG = "sound/BOS_3.wav";
+    private static final String SFX_WARP = "sound/BOS_4.wav";
+
+    private final SoundMixer sfx = SoundMixer.shared();
+    // Id SFX terisi begitu dekode di latar selesai; sebelum itu play(-1) diabaikan
+    private volatile int sfxLangkah = -1;
+    private volatile int sfxMenang = -1;
+    private volatile int sfxWarp = -1;
+    private boolean musicStopped = false;
+
+    // Laporan waktu mulai: frame pertama sekali per proses, giliran pertama setiap kali permainan dimulai
+    private static final AtomicBoolean frameReported = new AtomicBoolean();
+    private long startRequestedNanos;
+
+    private final AssetManager assets = AssetManager.shared();
+
+    private BoardModel board;
+    // Papan yang sudah ada di file papan checkpoint, beserta hashnya
+    private BoardModel checkpointBoard;
+    private long checkpointBoardHash;
+    private GameEngine engine;
+    private static BoardModel customBoard;
+    private static boolean customBoardLoaded;
+    private final GameEngine.Move langkah = new GameEngine.Move();
+
+    // Semua animasi berjalan di satu jam seirama refresh layar; kecepatan 0 berarti langsung ke hasil
+    private final AnimationClock clock = new AnimationClock();
+    private static final long DURASI_LANGKAH = 400_000_000L;
+    private static final long DURASI_WARP = 500_000_000L;
+    private static final int[] PILIHAN_KECEPATAN = {1, 2, 4, 8, 0};
+    // Dialog hasil akhir hanya menampilkan sepuluh besar, juga saat pesta dengan ribuan pemain
+    private static final int BARIS_HASIL = 10;
+    private int kecepatan = 1;
+    private boolean animating = false;
+    private boolean rollQueued = false;
+    private long klikNanos;
+    private final GameMetrics metrics = GameMetrics.shared();
+    private final LatencyHistogram klikKeGerak = metrics.clickToMotion();
+    private int ukuranPapan;
     private int currentPlayerIndex = 0;
-    private Random random = new Random();
+    // Papan dan dadu memakai aliran terpisah dari satu seed; -Dular.seed=n mengulang game yang sama
+    private final long seed = Long.getLong("ular.seed", System.nanoTime());
+    private final long boardSeed;
+    private final DiceSource.Seeded dice;
     private boolean gameEnded = false;
+    private int turnsPlayed = 0;
+    // Setiap game direkam ke folder replay; null jika file tidak bisa dibuat
+    private ReplayLog.Writer replay;
+
+    // Perubahan state diumumkan lewat bus; UI, audio, log dan statistik berlangganan sendiri-sendiri
+    private final GameEventBus events = new GameEventBus(1024);
+    private final AtomicBoolean uiRefreshPending = new AtomicBoolean();
+    private final AtomicBoolean turnBoundary = new AtomicBoolean();
+    private volatile int lastDice = 0;
+    private final AtomicLongArray eventCounts = new AtomicLongArray(GameEventBus.Type.values().length);
+
+    // Posisi bidak yang terakhir digambar, dan petak yang menunggu repaint
+    private int[] shownPositions;
+    private int[] movedPlayers = new int[4];
+    private int movedCount;
+    private int[] dirtySquares = new int[16];
+    private int dirtyCount = 0;
+    private boolean[] dirtyMark = new boolean[0];
+    private int squaresRepaintedThisTurn = 0;
+    private int squaresRepaintedLastTurn = 0;
+    private static final boolean TAMPILKAN_STATISTIK = Boolean.getBoolean("ular.stats");
 
     public PapanUlarTanggaGUI() {
-        setupLinks();
-        setupNodeBonusPoints();
-        initializeBoardData();
-        loadPlayerIcons(); // Memuatkan imej bidak
+        SplitMix64 streams = new SplitMix64(seed);
+        boardSeed = streams.nextLong();
+        dice = DiceSource.seeded(streams.nextLong());
+        setupBoard(UKURAN_PAPAN);
+        assets.load(MAIN_BG).thenAccept(img -> {
+            if (img == null) System.out.println("Gagal memuat gambar background.");
+        });
+        sfx.loadAsync(SFX_LANGKAH).thenAccept(id -> sfxLangkah = id);
+        sfx.loadAsync(SFX_MENANG).thenAccept(id -> sfxMenang = id);
+        sfx.loadAsync(SFX_WARP).thenAccept(id -> sfxWarp = id);
+        subscribeToEvents();
+        playBackgroundMusic(MUSIK);
+    }
 
-        try {
-            mainBgImage = new ImageIcon("images/BOS_1.png").getImage();
-        } catch (Exception e) {
-            System.out.println("Gagal memuat gambar background.");
+    private void subscribeToEvents() {
+        // UI: hanya mencatat bahwa ada perubahan, lalu satu invokeLater per batch
+        events.subscribe("ui", new GameEventBus.Subscriber() {
+            @Override
+            public void onEvent(GameEventBus.Type type, int player, int a, int b) {
+                if (type == GameEventBus.Type.TURN_STARTED) turnBoundary.set(true);
+                if (type == GameEventBus.Type.DICE_ROLLED) lastDice = a;
+            }
+
+            @Override
+            public void onBatchEnd() {
+                if (uiRefreshPending.compareAndSet(false, true)) SwingUtilities.invokeLater(PapanUlarTanggaGUI.this::refreshUi);
+            }
+        });
+        events.subscribe("audio", (type, player, a, b) -> {
+            switch (type) {
+                case STEPPED: sfx.play(sfxLangkah); break;
+                case WARPED: sfx.play(sfxWarp); break;
+                case GAME_WON: sfx.play(sfxMenang); break;
+                default: break;
+            }
+        });
+        events.subscribe("stats", (type, player, a, b) -> eventCounts.incrementAndGet(type.ordinal()));
+        events.subscribe("metrics", (type, player, a, b) -> metrics.onEvent(type, a));
+        if (Boolean.getBoolean("ular.log")) {
+            events.subscribe("log", (type, player, a, b) ->
+                    System.out.println("[event] " + type + " pemain=" + player + " a=" + a + " b=" + b));
         }
-        playBackgroundMusic("sound/BOS_2.wav");
     }
 
-    // Memuatkan imej bidak 1.png hingga 6.png dari folder images
-    private void loadPlayerIcons() {
-        for (int i = 0; i < 6; i++) {
-            try {
-                String path = "images/" + (i + 1) + ".png";
-                playerIcons[i] = new ImageIcon(path).getImage();
-            } catch (Exception e) {
-                System.err.println("Gagal memuat bidak: " + (i + 1) + ".png");
-            }
+    public long getEventCount(GameEventBus.Type type) {
+        return eventCounts.get(type.ordinal());
+    }
+
+    // Menerapkan semua perubahan yang terkumpul sejak refresh terakhir, di EDT
+    private void refreshUi() {
+        uiRefreshPending.set(false);
+        int dice = lastDice;
+        if (dice != 0) controlPanel.getDiceDisplay().setDiceValue(Math.abs(dice), dice < 0);
+        updateBoardUI();
+        flushDirtySquares();
+        long t0 = System.nanoTime();
+        updatePlayerStatus();
+        metrics.panelUpdate().record(System.nanoTime() - t0);
+        if (turnBoundary.getAndSet(false)) {
+            squaresRepaintedLastTurn = squaresRepaintedThisTurn;
+            squaresRepaintedThisTurn = 0;
+            if (TAMPILKAN_STATISTIK) System.out.println("Petak di-repaint giliran ini: " + squaresRepaintedLastTurn);
         }
     }
 
+    @Override
+    public void dispose() {
+        closeReplay();
+        events.shutdown();
+        super.dispose();
+    }
+
     private void stopBackgroundMusic() {
+        musicStopped = true;
         if (backgroundMusic != null) {
             backgroundMusic.stop();
-            backgroundMusic.close();
             backgroundMusic = null;
         }
     }
 
+    // Musik dialirkan dari file lewat ring buffer, tidak dimuat utuh ke Clip
     private void playBackgroundMusic(String filePath) {
-        try {
-            File musicPath = new File(filePath);
-            if (musicPath.exists()) {
-                AudioInputStream audioInput = AudioSystem.getAudioInputStream(musicPath);
-                backgroundMusic = AudioSystem.getClip();
-                backgroundMusic.open(audioInput);
-                if (backgroundMusic.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    volumeControl = (FloatControl) backgroundMusic.getControl(FloatControl.Type.MASTER_GAIN);
-                }
-                backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
-                backgroundMusic.start();
+        // Membuka line audio bisa ratusan milidetik, jadi dilakukan di thread loader, bukan di EDT
+        CompletableFuture.supplyAsync(() -> {
+            MusicPlayer music = new MusicPlayer(filePath);
+            return music.start() ? music : null;
+        }, AssetManager.loader()).thenAccept(music -> SwingUtilities.invokeLater(() -> {
+            if (music == null) return;
+            if (musicStopped) {
+                music.stop();
+                return;
             }
-        } catch (Exception e) { e.printStackTrace(); }
-    }
-
-    private void playSoundEffect(String filePath) {
-        new Thread(() -> {
-            try {
-                File soundPath = new File(filePath);
-                if (soundPath.exists()) {
-                    AudioInputStream audioInput = AudioSystem.getAudioInputStream(soundPath);
-                    Clip sfx = AudioSystem.getClip();
-                    sfx.open(audioInput);
-                    sfx.start();
-                    sfx.addLineListener(event -> {
-                        if (event.getType() == LineEvent.Type.STOP) sfx.close();
-                    });
-                }
-            } catch (Exception e) { System.err.println("Error SFX: " + e.getMessage()); }
-        }).start();
+            backgroundMusic = music;
+            volumeControl = music.getVolumeControl();
+        }));
     }
 
     public void setVolume(float volume) {
@@ -122,129 +208,137 @@ public class PapanUlarTanggaGUI extends JFrame {
         }
     }
 
-    private void setupNodeBonusPoints() {
-        for (int i = 1; i <= 64; i++) {
-            nodeBonusPoints.put(i, 10 + random.nextInt(41));
-        }
-        nodeBonusPoints.put(64, 100);
-        for (int key : links.keySet()) {
-            nodeBonusPoints.put(links.get(key), 50 + random.nextInt(51));
+    private void handleDiceRoll(ActionEvent e) {
+        if (players.isEmpty() || gameEnded) return;
+        if (animating) {
+            // Klik selama bidak masih berjalan dilempar otomatis begitu giliran berikutnya dimulai
+            rollQueued = true;
+            controlPanel.getRollButton().setEnabled(false);
+            return;
         }
+        klikNanos = System.nanoTime();
+        rollDice();
     }
 
-    private void handleDiceRoll(ActionEvent e) {
-        if (players.isEmpty() || gameEnded) return;
-        lemparDaduButton.setEnabled(false);
+    private void rollDice() {
+        animating = true;
         Player p = players.get(currentPlayerIndex);
-
-        int diceValue;
-        boolean isRedDice = false;
-
-        if (random.nextInt(100) < 20) {
-            isRedDice = true;
-            diceValue = random.nextInt(2) + 1;
-        } else {
-            diceValue = random.nextInt(6) + 1;
+        markMoved(currentPlayerIndex);
+
+        int effectiveSteps = dice.roll();
+        turnsPlayed++;
+        recordRoll(effectiveSteps);
+        events.publish(GameEventBus.Type.DICE_ROLLED, currentPlayerIndex, effectiveSteps, 0);
+        engine.resolveMove(p.getPosition(), effectiveSteps, langkah);
+        clock.start(new TokenMove(p, currentPlayerIndex));
+        if (klikNanos != 0) {
+            // Runnable ini baru jalan setelah RepaintManager menggambar frame pertama gerakan
+            long klik = klikNanos;
+            klikNanos = 0;
+            SwingUtilities.invokeLater(() -> {
+                klikKeGerak.record(System.nanoTime() - klik);
+                if (TAMPILKAN_STATISTIK) {
+                    System.out.printf("Klik sampai gerakan pertama: %.2f ms (satu frame %.2f ms)%n",
+                            (System.nanoTime() - klik) / 1e6, clock.getFrameNanos() / 1e6);
+                }
+            });
         }
-
-        diceDisplay.setDiceValue(diceValue, isRedDice);
-        int effectiveSteps = isRedDice ? -diceValue : diceValue;
-        moveAnimated(p, effectiveSteps);
     }
 
-    private void moveAnimated(Player p, int steps) {
-        Timer moveTimer = new Timer(400, null);
-        moveTimer.addActionListener(new ActionListener() {
-            private int remainingSteps = Math.abs(steps);
-            private boolean isMovingForward = steps > 0;
+    /** Waktu dari klik LEMPAR sampai frame pertama gerakan bidak selesai di-paint. */
+    public LatencyHistogram getClickToMotionLatency() {
+        return klikKeGerak;
+    }
 
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (remainingSteps <= 0) {
-                    moveTimer.stop();
-                    p.addBonusPoints(nodeBonusPoints.getOrDefault(p.getPosition(), 0));
-                    updateBoardUI();
-                    updatePlayerStatus();
-                    checkWinner(p);
-                    finishTurn();
-                    return;
-                }
+    // Jalur gerakan dihitung oleh engine; di sini bidak digeser di sepanjang jalur itu berdasarkan waktu
+    private final class TokenMove implements AnimationClock.Animation {
+        private final Player p;
+        private final int playerIndex;
+        private int index = 0;
+        private long elapsed;
+        private long last;
+
+        TokenMove(Player p, int playerIndex) {
+            this.p = p;
+            this.playerIndex = playerIndex;
+            // Frame pertama sudah satu frame ke depan, jadi klik langsung terlihat sebagai gerakan
+            this.elapsed = clock.getFrameNanos() * Math.max(1, kecepatan);
+        }
 
-                playSoundEffect("sound/BOS_1.wav");
-
-                if (isMovingForward) {
-                    if (p.getPosition() < 64) {
-                        p.setPosition(p.getPosition() + 1);
-                    } else {
-                        isMovingForward = false;
-                        p.setPosition(p.getPosition() - 1);
-                    }
-                } else {
-                    if (p.getPosition() > 1) {
-                        p.setPosition(p.getPosition() - 1);
-                    }
-                }
+        @Override
+        public boolean tick(long now) {
+            if (last != 0) elapsed += (now - last) * kecepatan;
+            last = now;
+            if (kecepatan == 0) {
+                while (index < langkah.length()) arrive();
+            }
+            while (index < langkah.length() && elapsed >= duration(index)) {
+                elapsed -= duration(index);
+                arrive();
+            }
+            if (index >= langkah.length()) {
+                boardCanvas.clearTokenMotion();
+                finishMove(p);
+                return false;
+            }
+            boardCanvas.setTokenMotion(playerIndex, p.getPosition(), langkah.square(index), (float) elapsed / duration(index));
+            return true;
+        }
 
-                remainingSteps--;
-                int currentPos = p.getPosition();
-
-                if (links.containsKey(currentPos)) {
-                    moveTimer.stop();
-                    int targetWarp = links.get(currentPos);
-                    int sisa = remainingSteps;
-                    boolean direction = isMovingForward;
-
-                    Timer warpEffect = new Timer(500, evt -> {
-                        p.setPosition(targetWarp);
-                        playSoundEffect("sound/BOS_4.wav");
-                        updateBoardUI();
-                        updatePlayerStatus();
-                        continueMovement(p, sisa, direction);
-                    });
-                    warpEffect.setRepeats(false);
-                    warpEffect.start();
-                    return;
-                }
+        private long duration(int i) {
+            return langkah.isWarp(i) ? DURASI_WARP : DURASI_LANGKAH;
+        }
 
-                updateBoardUI();
-                updatePlayerStatus();
+        private void arrive() {
+            int from = p.getPosition();
+            p.setPosition(langkah.square(index));
+            if (langkah.isWarp(index)) {
+                events.publish(GameEventBus.Type.WARPED, playerIndex, from, p.getPosition());
+            } else {
+                events.publish(GameEventBus.Type.STEPPED, playerIndex, p.getPosition(), 0);
             }
-        });
-        moveTimer.start();
+            index++;
+        }
     }
 
-    private void continueMovement(Player p, int steps, boolean forward) {
-        if (steps <= 0) {
-            p.addBonusPoints(nodeBonusPoints.getOrDefault(p.getPosition(), 0));
-            checkWinner(p);
-            finishTurn();
-            return;
-        }
-        int signedSteps = forward ? steps : -steps;
-        moveAnimated(p, signedSteps);
+    private void finishMove(Player p) {
+        animating = false;
+        int bonus = engine.getBonus(p.getPosition());
+        p.addBonusPoints(bonus);
+        events.publish(GameEventBus.Type.POINTS_AWARDED, currentPlayerIndex, bonus, p.getBonusPoints());
+        checkWinner(p);
+        finishTurn();
     }
 
     private void finishTurn() {
         if (!gameEnded) {
             currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            updateTurnIndicator();
-            lemparDaduButton.setEnabled(true);
+            Player next = players.get(currentPlayerIndex);
+            events.publish(GameEventBus.Type.TURN_STARTED, currentPlayerIndex, next.getPosition(), next.getBonusPoints());
+            saveCheckpoint();
+            if (rollQueued) {
+                rollQueued = false;
+                rollDice();
+            } else {
+                controlPanel.getRollButton().setEnabled(true);
+            }
         }
     }
 
     private void checkWinner(Player p) {
-        if (p.getPosition() == 64 && !gameEnded) {
+        if (p.getPosition() == engine.getFinish() && !gameEnded) {
             gameEnded = true;
-            playSoundEffect("sound/BOS_3.wav");
-            PriorityQueue<Player> leaderboard = new PriorityQueue<>();
-            leaderboard.addAll(players);
-            Timer winTimer = new Timer(500, evt -> showWinnerDialog(leaderboard, p));
-            winTimer.setRepeats(false);
-            winTimer.start();
+            rollQueued = false;
+            deleteCheckpoint();
+            closeReplay();
+            events.publish(GameEventBus.Type.GAME_WON, currentPlayerIndex, turnsPlayed, p.getBonusPoints());
+            List<Player> rank = new ArrayList<>();
+            ranking.topK(BARIS_HASIL, rank);
+            clock.after(500_000_000L, () -> showWinnerDialog(rank, p));
         }
     }
 
-    private JButton createStyledButton(String text, int fontSize) {
+    static JButton createStyledButton(String text, int fontSize) {
         JButton button = new JButton(text) {
             @Override
             protected void paintComponent(Graphics g) {
@@ -271,127 +365,25 @@ public class PapanUlarTanggaGUI extends JFrame {
         return button;
     }
 
-    private JPanel createControlPanel() {
-        JPanel cp = new JPanel();
-        cp.setLayout(new BorderLayout());
-        cp.setPreferredSize(new Dimension(280, 0));
-        cp.setBorder(BorderFactory.createLineBorder(Color.YELLOW, 4));
-
-        JPanel innerPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                GradientPaint gradient = new GradientPaint(0, 0, new Color(0x004D40), 0, getHeight(), new Color(0x00695C));
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
-        innerPanel.setLayout(new BoxLayout(innerPanel, BoxLayout.Y_AXIS));
-        innerPanel.setOpaque(false);
-        innerPanel.setBorder(BorderFactory.createEmptyBorder(15, 10, 15, 10));
-
-        Dimension boxSize = new Dimension(240, 180);
-
-        JPanel turnPanel = new JPanel();
-        turnPanel.setLayout(new BoxLayout(turnPanel, BoxLayout.Y_AXIS));
-        turnPanel.setOpaque(false);
-        turnPanel.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        turnPanel.setMaximumSize(new Dimension(240, 100));
-        turnPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        turnLabel = new JLabel("Pemain 1");
-        turnLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        turnLabel.setForeground(Color.WHITE);
-        turnLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        JLabel turnTitle = new JLabel("🎯 TURN:");
-        turnTitle.setForeground(new Color(0xFFC107));
-        turnTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
-        JLabel posPointLabel = new JLabel("Posisi: 1 | Poin: 0");
-        posPointLabel.setForeground(Color.YELLOW);
-        posPointLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        posPointLabel.setName("posPointLabel");
-        turnPanel.add(turnTitle);
-        turnPanel.add(Box.createVerticalStrut(5));
-        turnPanel.add(turnLabel);
-        turnPanel.add(posPointLabel);
-        innerPanel.add(turnPanel);
-        innerPanel.add(Box.createVerticalStrut(15));
-
-        JPanel playerSection = new JPanel();
-        playerSection.setLayout(new BoxLayout(playerSection, BoxLayout.Y_AXIS));
-        playerSection.setOpaque(false);
-        playerSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        playerSection.setMaximumSize(boxSize);
-        playerSection.setAlignmentX(Component.CENTER_ALIGNMENT);
-        playerListPanel = new JPanel();
-        playerListPanel.setLayout(new BoxLayout(playerListPanel, BoxLayout.Y_AXIS));
-        playerListPanel.setOpaque(false);
-        JLabel pTitle = new JLabel("👥 PEMAIN"); pTitle.setForeground(Color.WHITE); pTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
-        playerSection.add(pTitle); playerSection.add(playerListPanel);
-        innerPanel.add(playerSection);
-        innerPanel.add(Box.createVerticalStrut(15));
-
-        JPanel leaderSection = new JPanel();
-        leaderSection.setLayout(new BoxLayout(leaderSection, BoxLayout.Y_AXIS));
-        leaderSection.setOpaque(false);
-        leaderSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        leaderSection.setMaximumSize(boxSize);
-        leaderSection.setAlignmentX(Component.CENTER_ALIGNMENT);
-        leaderboardPanel = new JPanel();
-        leaderboardPanel.setLayout(new BoxLayout(leaderboardPanel, BoxLayout.Y_AXIS));
-        leaderboardPanel.setOpaque(false);
-        JLabel lTitle = new JLabel("🏆 LEADERBOARD"); lTitle.setForeground(new Color(0xFFC107)); lTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
-        leaderSection.add(lTitle); leaderSection.add(leaderboardPanel);
-        innerPanel.add(leaderSection);
-        innerPanel.add(Box.createVerticalStrut(15));
-
-        diceDisplay = new DicePanel(0);
-        diceDisplay.setAlignmentX(Component.CENTER_ALIGNMENT);
-        innerPanel.add(diceDisplay);
-        innerPanel.add(Box.createVerticalStrut(15));
-
-        JPanel buttonSection = new JPanel();
-        buttonSection.setLayout(new BoxLayout(buttonSection, BoxLayout.Y_AXIS));
-        buttonSection.setOpaque(false);
-        buttonSection.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(Color.YELLOW, 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        buttonSection.setMaximumSize(new Dimension(240, 180));
-        buttonSection.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        lemparDaduButton = createStyledButton("⚄ LEMPAR", 14);
-        lemparDaduButton.setMaximumSize(new Dimension(200, 40));
-        lemparDaduButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        lemparDaduButton.addActionListener(this::handleDiceRoll);
-
-        JButton settingsBtn = createStyledButton("⚙️ SETTING", 14);
-        settingsBtn.setMaximumSize(new Dimension(200, 40));
-        settingsBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        settingsBtn.addActionListener(e -> showInGameSettings());
-
-        JButton lobbyBtn = createStyledButton("🔙 LOBBY", 14);
-        lobbyBtn.setMaximumSize(new Dimension(200, 40));
-        lobbyBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        lobbyBtn.addActionListener(e -> {
-            stopBackgroundMusic();
-            this.dispose();
-            SwingUtilities.invokeLater(() -> new LobbyFrame(new PapanUlarTanggaGUI()));
-        });
-
-        buttonSection.add(lemparDaduButton); buttonSection.add(Box.createVerticalStrut(10));
-        buttonSection.add(settingsBtn); buttonSection.add(Box.createVerticalStrut(10));
-        buttonSection.add(lobbyBtn);
-        innerPanel.add(buttonSection);
-
-        JScrollPane scrollPane = new JScrollPane(innerPanel);
-        scrollPane.setOpaque(false);
-        scrollPane.getViewport().setOpaque(false);
-        scrollPane.setBorder(null);
-        cp.add(scrollPane, BorderLayout.CENTER);
-        return cp;
+    private ControlPanel createControlPanel() {
+        controlPanel = new ControlPanel(ukuranPapan > UKURAN_PAPAN ? boardCanvas.getMinimap() : null,
+                PILIHAN_KECEPATAN, this::handleDiceRoll, k -> kecepatan = k, this::showInGameSettings, () -> {
+                    stopBackgroundMusic();
+                    this.dispose();
+                    SwingUtilities.invokeLater(() -> new LobbyFrame(new PapanUlarTanggaGUI()));
+                });
+        return controlPanel;
     }
 
-    private void showWinnerDialog(PriorityQueue<Player> leaderboard, Player winner) {
+    private void showWinnerDialog(List<Player> rank, Player winner) {
         JDialog d = new JDialog(this, "🏆 Hasil Akhir 🏆", true);
         d.setLayout(new BorderLayout());
+        d.add(createWinnerPanel(rank, winner, () -> { stopBackgroundMusic(); d.dispose(); this.dispose(); new LobbyFrame(new PapanUlarTanggaGUI()); }));
+        d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
+    }
+
+    /** Isi dialog hasil akhir; terpisah dari JDialog supaya bisa digambar offscreen. */
+    static JPanel createWinnerPanel(List<Player> rank, Player winner, Runnable onBack) {
         JPanel cp = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
@@ -404,8 +396,6 @@ public class PapanUlarTanggaGUI extends JFrame {
         };
         cp.setLayout(new BoxLayout(cp, BoxLayout.Y_AXIS));
         cp.setBorder(BorderFactory.createEmptyBorder(25, 30, 25, 30));
-        List<Player> rank = new ArrayList<>();
-        while (!leaderboard.isEmpty()) rank.add(leaderboard.poll());
 
         JLabel title = new JLabel("HASIL AKHIR");
         title.setFont(new Font("Arial Black", Font.BOLD, 26));
@@ -427,9 +417,9 @@ public class PapanUlarTanggaGUI extends JFrame {
         }
         JButton btn = createStyledButton("KEMBALI KE LOBBY", 14);
         btn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        btn.addActionListener(e -> { stopBackgroundMusic(); d.dispose(); this.dispose(); new LobbyFrame(new PapanUlarTanggaGUI()); });
+        btn.addActionListener(e -> onBack.run());
         cp.add(Box.createVerticalStrut(20)); cp.add(btn);
-        d.add(cp); d.pack(); d.setLocationRelativeTo(this); d.setVisible(true);
+        return cp;
     }
 
     private void showInGameSettings() {
@@ -461,70 +451,141 @@ public class PapanUlarTanggaGUI extends JFrame {
         dialog.add(cp); dialog.setSize(350, 250); dialog.setLocationRelativeTo(this); dialog.setVisible(true);
     }
 
-    private void updateTurnIndicator() {
-        Player currentPlayer = players.get(currentPlayerIndex);
-        turnLabel.setText(currentPlayer.getName());
-        turnLabel.setForeground(currentPlayer.getColor());
-        Component[] components = ((JPanel)turnLabel.getParent()).getComponents();
-        for (Component c : components) {
-            if (c.getName() != null && c.getName().equals("posPointLabel")) {
-                ((JLabel)c).setText("Posisi: " + currentPlayer.getPosition() + " | Poin: " + currentPlayer.getBonusPoints());
-                break;
+    private void updatePlayerStatus() {
+        controlPanel.update(players, currentPlayerIndex, ranking);
+    }
+
+    // Papan ukuran x ukuran dengan pola tangga bawaan, atau papan -Dular.board jika ukurannya sama
+    private void setupBoard(int ukuran) {
+        ukuranPapan = ukuran;
+        BoardModel custom = customBoard();
+        board = custom != null && custom.getSize() == ukuran ? custom : BoardModel.standard(ukuran, new SplitMix64(boardSeed));
+        engine = new GameEngine(board);
+    }
+
+    // Papan dari file -Dular.board=papan.txt (misalnya hasil LayoutOptimizer), dimuat sekali per proses
+    static synchronized BoardModel customBoard() {
+        if (!customBoardLoaded) {
+            customBoardLoaded = true;
+            String path = System.getProperty("ular.board");
+            if (path != null) {
+                try {
+                    customBoard = BoardModel.load(Paths.get(path));
+                    System.out.println("Papan " + customBoard.getSize() + "x" + customBoard.getSize() + " dimuat dari " + path);
+                } catch (IOException e) {
+                    System.err.println("Gagal memuat papan " + path + ": " + e.getMessage());
+                }
             }
         }
+        return customBoard;
     }
 
-    private void updatePlayerStatus() {
-        playerListPanel.removeAll();
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            JPanel pnl = new JPanel(new FlowLayout(FlowLayout.CENTER));
-            pnl.setOpaque(false);
-            JLabel lbl = new JLabel(((i == currentPlayerIndex) ? "● " : "○ ") + p.getName() + " (Pos: " + p.getPosition() + ")");
-            lbl.setForeground(p.getColor());
-            pnl.add(lbl); playerListPanel.add(pnl);
+    /** Ukuran yang dipilih lobby di awal: ukuran papan -Dular.board jika ada di pilihan, selain itu 8. */
+    static int ukuranPapanAwal() {
+        BoardModel custom = customBoard();
+        if (custom != null) {
+            for (int ukuran : PILIHAN_UKURAN_PAPAN) if (ukuran == custom.getSize()) return ukuran;
         }
-        playerListPanel.revalidate(); playerListPanel.repaint();
-        updateLeaderboard(); updateTurnIndicator();
-    }
-
-    private void updateLeaderboard() {
-        leaderboardPanel.removeAll();
-        PriorityQueue<Player> pq = new PriorityQueue<>(players);
-        List<Player> sorted = new ArrayList<>();
-        while (!pq.isEmpty()) sorted.add(pq.poll());
-        for (int i = 0; i < sorted.size(); i++) {
-            JPanel pnl = new JPanel(new FlowLayout(FlowLayout.CENTER));
-            pnl.setOpaque(false);
-            JLabel lbl = new JLabel((i + 1) + ". " + sorted.get(i).getName() + " - " + sorted.get(i).getBonusPoints() + " pts");
-            lbl.setForeground((i == 0) ? Color.YELLOW : Color.WHITE);
-            pnl.add(lbl);
-            leaderboardPanel.add(pnl);
+        return UKURAN_PAPAN;
+    }
+
+    public void start(List<Player> initialPlayers) {
+        start(initialPlayers, UKURAN_PAPAN);
+    }
+
+    public void start(List<Player> initialPlayers, int ukuran) {
+        startRequestedNanos = System.nanoTime();
+        if (ukuran != ukuranPapan) setupBoard(ukuran);
+        PlayerStore store = PlayerStore.of(initialPlayers);
+        store.setMaxPosition(engine.getFinish());
+        this.players = store.asList();
+        this.animating = false;
+        this.rollQueued = false;
+        this.gameEnded = false;
+        this.currentPlayerIndex = 0;
+        this.turnsPlayed = 0;
+        System.out.println("Seed permainan: " + seed);
+        showGame();
+        saveCheckpoint();
+        startReplay();
+    }
+
+    /** Melanjutkan permainan dari snapshot, termasuk papan dan posisi generator dadu. */
+    public void resume(GameSnapshot snapshot) {
+        startRequestedNanos = System.nanoTime();
+        board = snapshot.getBoard();
+        ukuranPapan = board.getSize();
+        engine = new GameEngine(board);
+        dice.setState(snapshot.getRandomState());
+        this.players = snapshot.createPlayers();
+        this.animating = false;
+        this.rollQueued = false;
+        this.gameEnded = snapshot.isGameEnded();
+        this.currentPlayerIndex = snapshot.getCurrentPlayer();
+        this.turnsPlayed = snapshot.getTurnsPlayed();
+        showGame();
+        controlPanel.getRollButton().setEnabled(!gameEnded);
+        if (!gameEnded) startReplay();
+    }
+
+    // Lanjutan dari checkpoint direkam sebagai file baru yang dimulai dari snapshot itu
+    private void startReplay() {
+        closeReplay();
+        try {
+            replay = ReplayLog.Writer.create(ReplayLog.directory(),
+                    new GameSnapshot(board, players, currentPlayerIndex, gameEnded, turnsPlayed, dice.getState()));
+        } catch (IOException e) {
+            System.err.println("Gagal membuat rekaman: " + e.getMessage());
         }
-        leaderboardPanel.revalidate(); leaderboardPanel.repaint();
     }
 
-    private void setupLinks() {
-        links.put(2, 13); links.put(5, 19); links.put(11, 29);
-        links.put(17, 36); links.put(22, 41); links.put(34, 52); links.put(45, 60);
+    private void recordRoll(int steps) {
+        if (replay == null) return;
+        try {
+            replay.roll(steps);
+        } catch (IOException e) {
+            System.err.println("Gagal menulis rekaman: " + e.getMessage());
+            closeReplay();
+        }
     }
 
-    private void initializeBoardData() {
-        int angka = 1;
-        for (int baris = 0; baris < UKURAN_PAPAN; baris++) {
-            int barisPapan = UKURAN_PAPAN - 1 - baris;
-            if (baris % 2 == 0) {
-                for (int k = 0; k < UKURAN_PAPAN; k++) papanData[barisPapan][k] = angka++;
-            } else {
-                for (int k = UKURAN_PAPAN - 1; k >= 0; k--) papanData[barisPapan][k] = angka++;
+    private void closeReplay() {
+        if (replay == null) return;
+        try {
+            replay.close();
+        } catch (IOException e) {
+            System.err.println("Gagal menutup rekaman: " + e.getMessage());
+        }
+        replay = null;
+    }
+
+    // Checkpoint di setiap batas giliran. Papan hanya ditulis saat berganti, jadi yang ditulis
+    // setiap giliran di EDT cuma pemain dan giliran, bukan seluruh petak
+    private void saveCheckpoint() {
+        try {
+            if (checkpointBoard != board) {
+                checkpointBoardHash = GameSnapshot.saveBoard(board, GameSnapshot.checkpointFile());
+                checkpointBoard = board;
             }
+            new GameSnapshot(board, players, currentPlayerIndex, gameEnded, turnsPlayed, dice.getState())
+                    .saveCheckpoint(GameSnapshot.checkpointFile(), checkpointBoardHash);
+        } catch (IOException e) {
+            System.err.println("Gagal menyimpan checkpoint: " + e.getMessage());
         }
     }
 
-    public void start(List<Player> initialPlayers) {
-        this.players = initialPlayers;
-        this.gameEnded = false;
-        this.currentPlayerIndex = 0;
+    private void deleteCheckpoint() {
+        checkpointBoard = null;
+        try {
+            Files.deleteIfExists(GameSnapshot.checkpointFile());
+            Files.deleteIfExists(GameSnapshot.boardFile(GameSnapshot.checkpointFile()));
+        } catch (IOException e) {
+            System.err.println("Gagal menghapus checkpoint: " + e.getMessage());
+        }
+    }
+
+    private void showGame() {
+        this.ranking = new RankingIndex(players);
         setTitle("🎲 Ular Tangga Prima");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         JPanel mainWrapper = new JPanel(new BorderLayout());
@@ -533,133 +594,133 @@ public class PapanUlarTanggaGUI extends JFrame {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (mainBgImage != null) g.drawImage(mainBgImage, 0, 0, getWidth(), getHeight(), this);
+                // Latar sudah diskalakan ke ukuran panel oleh AssetManager
+                Image bg = assets.scaled(MAIN_BG, getWidth(), getHeight());
+                if (bg != null) g.drawImage(bg, 0, 0, null);
+                reportFirstPlayableTurn();
             }
         };
+        // Jika latar belum selesai didekode, panel digambar ulang begitu siap
+        assets.load(MAIN_BG).thenRun(() -> SwingUtilities.invokeLater(main::repaint));
         mainWrapper.add(main);
         setContentPane(mainWrapper);
         main.add(createBoardPanel(), BorderLayout.CENTER);
         main.add(createControlPanel(), BorderLayout.EAST);
+        PerfHud.install(this);
+        shownPositions = null;
         updateBoardUI();
+        flushDirtySquares();
         updatePlayerStatus();
+        Player first = players.get(currentPlayerIndex);
+        events.publish(GameEventBus.Type.TURN_STARTED, currentPlayerIndex, first.getPosition(), first.getBonusPoints());
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
     }
 
+    // Papan berada di viewport yang bisa digulir; hanya petak yang terlihat yang digambar
     private JPanel createBoardPanel() {
         JPanel wrapper = new JPanel(new GridBagLayout()); wrapper.setOpaque(false);
-        boardPanel = new JPanel(new GridLayout(UKURAN_PAPAN, UKURAN_PAPAN, 2, 2));
-        boardPanel.setBackground(Color.BLACK);
-        boardPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 5));
-        boardSquaresMap = new HashMap<>();
-        for (int baris = 0; baris < UKURAN_PAPAN; baris++) {
-            for (int kolom = 0; kolom < UKURAN_PAPAN; kolom++) {
-                int sq = papanData[baris][kolom];
-                SquarePanel s = new SquarePanel(sq);
-                boardSquaresMap.put(sq, s);
-                boardPanel.add(s);
-            }
-        }
-        wrapper.add(boardPanel);
+        boardCanvas = new BoardCanvas(board, assets);
+        boardCanvas.setPlayers(players);
+        JScrollPane viewport = new JScrollPane(boardCanvas);
+        viewport.setBorder(null);
+        viewport.getViewport().setBackground(Color.BLACK);
+        viewport.getViewport().addChangeListener(e -> boardCanvas.getMinimap().repaint());
+        wrapper.add(viewport);
         return wrapper;
     }
 
+    // Hanya petak yang isi bidaknya berubah yang ditandai kotor; refreshUi me-repaint semuanya sekali per batch
     private void updateBoardUI() {
-        for (SquarePanel s : boardSquaresMap.values()) s.clearPlayers();
-        for (Player p : players) {
-            SquarePanel s = boardSquaresMap.get(p.getPosition());
-            if (s != null) s.addPlayer(p);
-        }
-        boardPanel.repaint();
-    }
-
-    private boolean isPrime(int n) {
-        if (n < 2) return false;
-        if (n == 2) return true;
-        if (n % 2 == 0) return false;
-        for (int i = 3; i * i <= n; i += 2) if (n % i == 0) return false;
-        return true;
-    }
-
-    private class SquarePanel extends JPanel {
-        private final int number;
-        private final List<Player> playersHere = new ArrayList<>();
-        public SquarePanel(int n) {
-            this.number = n;
-            setPreferredSize(new Dimension(UKURAN_KOTAK, UKURAN_KOTAK));
-            setBackground(PapanUlarTanggaGUI.this.isPrime(n) ? PRIME_COLOR : (n % 2 == 0 ? BOARD_LIGHT : BOARD_DARK));
-            setBorder(BorderFactory.createLineBorder(BOARD_BORDER, 1));
-            setLayout(null);
+        if (shownPositions == null || shownPositions.length != players.size()) {
+            shownPositions = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) markMoved(i);
         }
-        public void addPlayer(Player p) { playersHere.add(p); repaint(); }
-        public void clearPlayers() { playersHere.clear(); repaint(); }
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            if (links.containsKey(number)) {
-                g2d.setColor(new Color(0, 255, 0, 60)); g2d.fillRect(0, 0, getWidth(), getHeight());
-                g2d.setColor(new Color(0, 100, 0));
-                g2d.drawString("X -> " + links.get(number), 5, 45);
-            }
-            g2d.setColor(Color.BLACK); g2d.setFont(new Font("Arial", Font.BOLD, 12));
-            g2d.drawString(String.valueOf(number), 5, 15);
-            int b = nodeBonusPoints.getOrDefault(number, 0);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 10));
-            g2d.setColor(new Color(0, 120, 0));
-            g2d.drawString("+" + b + "pts", 5, 28);
-
-            // Menggambar imej bidak bagi setiap pemain di petak ini
-            for (int i = 0; i < playersHere.size(); i++) {
-                Player p = playersHere.get(i);
-                int pIndex = players.indexOf(p);
-                // Mendapatkan imej bidak 1-6 (berdasarkan turutan pemain)
-                if (pIndex >= 0 && pIndex < 6 && playerIcons[pIndex] != null) {
-                    // Saiz bidak (contoh: 25x25)
-                    g2d.drawImage(playerIcons[pIndex], 5 + (i * 18), 45, 25, 25, this);
-                } else {
-                    // Fallback jika imej tiada
-                    g2d.setColor(p.getColor());
-                    g2d.fillOval(5 + (i * 18), 50, 15, 15);
-                }
+        for (int k = 0; k < movedCount; k++) {
+            int i = movedPlayers[k];
+            int pos = players.get(i).getPosition();
+            if (shownPositions[i] != pos) {
+                if (shownPositions[i] != 0) markDirty(shownPositions[i]);
+                markDirty(pos);
+                shownPositions[i] = pos;
             }
         }
+        movedCount = 0;
+        // Bidak yang masih berjalan dicek lagi di refresh berikutnya
+        if (animating) markMoved(currentPlayerIndex);
     }
 
-    private static class DicePanel extends JPanel {
-        private int val;
-        private boolean isRed;
-        public DicePanel(int v) {
-            this.val = v;
-            setPreferredSize(new Dimension(80, 80));
-            setMaximumSize(new Dimension(80, 80));
-            setBackground(Color.WHITE);
-            setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+    // Selain saat papan baru dipasang, hanya pemain yang melempar yang bisa berpindah petak
+    private void markMoved(int player) {
+        if (movedCount == movedPlayers.length) movedPlayers = Arrays.copyOf(movedPlayers, movedCount * 2);
+        movedPlayers[movedCount++] = player;
+    }
+
+    private void markDirty(int square) {
+        if (dirtyMark.length != engine.getFinish() + 1) dirtyMark = new boolean[engine.getFinish() + 1];
+        if (dirtyMark[square]) return;
+        dirtyMark[square] = true;
+        if (dirtyCount == dirtySquares.length) dirtySquares = Arrays.copyOf(dirtySquares, dirtyCount * 2);
+        dirtySquares[dirtyCount++] = square;
+    }
+
+    private void flushDirtySquares() {
+        for (int i = 0; i < dirtyCount; i++) {
+            boardCanvas.repaintSquare(dirtySquares[i]);
+            dirtyMark[dirtySquares[i]] = false;
+            squaresRepaintedThisTurn++;
         }
-        public void setDiceValue(int v, boolean red) { this.val = v; this.isRed = red; repaint(); }
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            if (val == 0) {
-                g2d.setColor(Color.LIGHT_GRAY); g2d.setFont(new Font("Arial", Font.BOLD, 40));
-                FontMetrics fm = g2d.getFontMetrics();
-                g2d.drawString("?", (80 - fm.stringWidth("?"))/2, 55);
-                return;
-            }
-            g2d.setColor(isRed ? Color.RED : Color.BLACK);
-            int d = 14, m = 12, mid = 40 - (d / 2), L = m, R = 80 - m - d, T = m, B = 80 - m - d;
-            if (val == 1 || val == 3 || val == 5) g2d.fillOval(mid, mid, d, d);
-            if (val >= 2) { g2d.fillOval(R, T, d, d); g2d.fillOval(L, B, d, d); }
-            if (val >= 4) { g2d.fillOval(L, T, d, d); g2d.fillOval(R, B, d, d); }
-            if (val == 6) { g2d.fillOval(L, mid, d, d); g2d.fillOval(R, mid, d, d); }
+        dirtyCount = 0;
+    }
+
+    public int getSquaresRepaintedLastTurn() {
+        return squaresRepaintedLastTurn;
+    }
+
+    /**
+     * Mulai mendekode semua gambar dan SFX secara paralel di latar, termasuk atlas bidak ukuran
+     * bawaan dan pembukaan perangkat audio. Hasilnya disimpan AssetManager dan SoundMixer untuk
+     * seluruh proses, jadi kembali ke lobby dan memulai permainan baru tidak memuat ulang apa pun.
+     */
+    static CompletableFuture<Void> preloadAssets() {
+        long t0 = System.nanoTime();
+        AssetManager assets = AssetManager.shared();
+        String[] images = new String[AssetManager.JUMLAH_BIDAK + 2];
+        images[0] = LobbyFrame.BACKGROUND;
+        images[1] = MAIN_BG;
+        for (int i = 0; i < AssetManager.JUMLAH_BIDAK; i++) images[i + 2] = "images/" + (i + 1) + ".png";
+        CompletableFuture<Void> gambar = assets.preload(images)
+                .thenRun(() -> assets.tokens(BoardCanvas.UKURAN_BIDAK));
+        CompletableFuture<Void> suara = CompletableFuture.supplyAsync(SoundMixer::shared, AssetManager.loader())
+                .thenCompose(mixer -> CompletableFuture.allOf(
+                        mixer.loadAsync(SFX_LANGKAH), mixer.loadAsync(SFX_MENANG), mixer.loadAsync(SFX_WARP)));
+        CompletableFuture<Void> semua = CompletableFuture.allOf(gambar, suara);
+        if (!TAMPILKAN_STATISTIK) return semua;
+        return semua.thenRun(() ->
+                System.out.printf("Aset dimuat di latar dalam %.0f ms%n", (System.nanoTime() - t0) / 1e6));
+    }
+
+    // Dipanggil dari paint lobby; hanya frame pertama proses yang dilaporkan, dan hanya dengan -Dular.stats=true
+    static void reportFirstFrame() {
+        if (TAMPILKAN_STATISTIK && !frameReported.get() && frameReported.compareAndSet(false, true)) {
+            System.out.println("Frame pertama: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms sejak JVM mulai");
         }
     }
 
+    // Dipanggil dari paint papan; melaporkan sekali setelah start() atau resume() begitu tombol LEMPAR bisa dipakai
+    private void reportFirstPlayableTurn() {
+        if (!TAMPILKAN_STATISTIK || startRequestedNanos == 0 || controlPanel == null || !controlPanel.getRollButton().isEnabled()) return;
+        System.out.printf("Giliran pertama siap dimainkan: %.0f ms setelah permainan dimulai%n",
+                (System.nanoTime() - startRequestedNanos) / 1e6);
+        startRequestedNanos = 0;
+    }
+
     public static void main(String[] args) {
+        // Aset mulai didekode sebelum jendela pertama dibuat; lobby tampil tanpa menunggunya
+        preloadAssets();
+        GameMetrics.shared().startEdtProbe();
+        GameMetrics.shared().startGcMonitor();
         SwingUtilities.invokeLater(() -> {
             PapanUlarTanggaGUI game = new PapanUlarTanggaGUI();
             new LobbyFrame(game);
@@ -0,0 +1,198 @@
+import com.sun.management.ThreadMXBean;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.swing.*;
+
+/**
+ * Overlay performa di glass pane jendela permainan, dibuka-tutup dengan F3. Setiap baris
+ * menampilkan p50, p99 dan maksimum dari 1 detik terakhir beserta histogram per oktaf
+ * (1 µs sampai 1 s), diambil dari histogram GameMetrics yang memang selalu merekam. Selama
+ * tersembunyi HUD tidak melakukan apa pun; saat terlihat hanya membaca ember setiap 250 ms.
+ */
+public class PerfHud extends JComponent {
+
+    private static final int JEDA_REFRESH_MS = 250;
+    private static final int JENDELA = 4;
+    private static final int OKTAF_MIN = 10;
+    private static final int OKTAF_MAKS = 30;
+    private static final int LEBAR = 380;
+    private static final int TINGGI_BARIS = 30;
+    private static final Color LATAR = new Color(0, 0, 0, 190);
+    private static final Color BATANG = new Color(0x4ECDC4);
+    private static final Color BATANG_LAMBAT = new Color(0xFF6B6B);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+
+    private final Row[] rows;
+    private final Row hudRow;
+    private final Timer timer = new Timer(JEDA_REFRESH_MS, e -> refresh());
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private long lastRefresh;
+    private long lastAllocated;
+    private long lastEdtAllocated;
+    private double allocatedPerSecond;
+    private double edtAllocatedPerSecond;
+
+    // Satu metrik: salinan ember per refresh, dan selisih beberapa refresh terakhir sebagai jendela
+    private static final class Row {
+        final String label;
+        final LatencyHistogram histogram;
+        // Batas wajar baris ini; p99 di atasnya diwarnai merah
+        final long budget;
+        final long[] previous;
+        final long[][] deltas = new long[JENDELA][];
+        final long[] window;
+        int next;
+
+        Row(String label, LatencyHistogram histogram, long budget) {
+            this.label = label;
+            this.histogram = histogram;
+            this.budget = budget;
+            this.previous = new long[histogram.buckets()];
+            this.window = new long[histogram.buckets()];
+            for (int i = 0; i < JENDELA; i++) deltas[i] = new long[histogram.buckets()];
+            restart();
+        }
+
+        // Jendela dimulai dari nol setiap kali HUD dibuka
+        void restart() {
+            for (int i = 0; i < previous.length; i++) previous[i] = histogram.bucket(i);
+            for (long[] d : deltas) Arrays.fill(d, 0);
+            Arrays.fill(window, 0);
+        }
+
+        void sample() {
+            long[] delta = deltas[next];
+            next = (next + 1) % JENDELA;
+            for (int i = 0; i < previous.length; i++) {
+                long now = histogram.bucket(i);
+                window[i] += (now - previous[i]) - delta[i];
+                delta[i] = now - previous[i];
+                previous[i] = now;
+            }
+        }
+    }
+
+    public PerfHud(GameMetrics metrics) {
+        long frame = 1_000_000_000L / AnimationClock.refreshRate();
+        hudRow = new Row("Paint HUD", new LatencyHistogram(), frame);
+        rows = new Row[] {
+                new Row("Frame", metrics.frameTime(), frame + frame / 2),
+                new Row("Antrean EDT", metrics.edtQueueDelay(), frame),
+                new Row("Paint papan", metrics.repaint(), frame / 2),
+                new Row("Update panel", metrics.panelUpdate(), frame / 2),
+                new Row("SFX", metrics.soundEffectLatency(), 2 * frame),
+                new Row("Jeda GC", metrics.gcPause(), frame),
+                hudRow,
+        };
+        setOpaque(false);
+        setVisible(false);
+    }
+
+    /** Memasang HUD sebagai glass pane {@code frame} dengan F3 sebagai tombol buka-tutup. */
+    public static PerfHud install(JFrame frame) {
+        if (frame.getGlassPane() instanceof PerfHud hud) return hud;
+        PerfHud hud = new PerfHud(GameMetrics.shared());
+        frame.setGlassPane(hud);
+        JRootPane root = frame.getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "perfHud");
+        root.getActionMap().put("perfHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                hud.toggle();
+            }
+        });
+        return hud;
+    }
+
+    public void toggle() {
+        boolean show = !isVisible();
+        if (show) {
+            for (Row r : rows) r.restart();
+            lastRefresh = 0;
+            refresh();
+            timer.start();
+        } else {
+            timer.stop();
+        }
+        setVisible(show);
+    }
+
+    private void refresh() {
+        for (Row r : rows) r.sample();
+        long now = System.nanoTime();
+        long allocated = threads.getTotalThreadAllocatedBytes();
+        long edtAllocated = threads.getCurrentThreadAllocatedBytes();
+        if (lastRefresh != 0) {
+            double seconds = (now - lastRefresh) / 1e9;
+            allocatedPerSecond = (allocated - lastAllocated) / seconds;
+            edtAllocatedPerSecond = (edtAllocated - lastEdtAllocated) / seconds;
+        }
+        lastRefresh = now;
+        lastAllocated = allocated;
+        lastEdtAllocated = edtAllocated;
+        repaint(0, 0, LEBAR, tinggi());
+    }
+
+    private int tinggi() {
+        return 24 + rows.length * TINGGI_BARIS + 36;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t0 = System.nanoTime();
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(LATAR);
+        g2d.fillRect(0, 0, LEBAR, tinggi());
+        g2d.setFont(FONT);
+        g2d.setColor(Color.YELLOW);
+        g2d.drawString(String.format("%-13s %16s %7s %7s %7s", "F3 (ms)", "1 detik", "p50", "p99", "maks"), 8, 16);
+        int y = 24;
+        for (Row r : rows) {
+            paintRow(g2d, r, y);
+            y += TINGGI_BARIS;
+        }
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(String.format("Alokasi: %.1f MB/s total, %.1f MB/s EDT",
+                allocatedPerSecond / 1e6, edtAllocatedPerSecond / 1e6), 8, y + 14);
+        g2d.drawString(String.format("Heap: %d / %d MB", usedHeapMb(), Runtime.getRuntime().maxMemory() >> 20), 8, y + 28);
+        hudRow.histogram.record(System.nanoTime() - t0);
+    }
+
+    private static long usedHeapMb() {
+        Runtime rt = Runtime.getRuntime();
+        return (rt.totalMemory() - rt.freeMemory()) >> 20;
+    }
+
+    private static void paintRow(Graphics2D g, Row r, int y) {
+        long p50 = LatencyHistogram.percentile(r.window, 50);
+        long p99 = LatencyHistogram.percentile(r.window, 99);
+        long max = 0;
+        for (int i = r.window.length - 1; i >= 0 && max == 0; i--) if (r.window[i] > 0) max = LatencyHistogram.bucketUpperBound(i);
+        g.setColor(p99 > r.budget ? BATANG_LAMBAT : Color.WHITE);
+        g.drawString(String.format("%-13s %16s %7.2f %7.2f %7.2f", r.label, "", p50 / 1e6, p99 / 1e6, max / 1e6), 8, y + 12);
+
+        // Ember digabung per oktaf (16 ember per pangkat dua) supaya histogram muat satu baris
+        long[] octaves = new long[OKTAF_MAKS - OKTAF_MIN];
+        long peak = 0;
+        for (int i = 0; i < r.window.length; i++) {
+            if (r.window[i] == 0) continue;
+            int octave = 63 - Long.numberOfLeadingZeros(Math.max(1, LatencyHistogram.bucketUpperBound(i)));
+            int o = Math.max(0, Math.min(octaves.length - 1, octave - OKTAF_MIN));
+            octaves[o] += r.window[i];
+            peak = Math.max(peak, octaves[o]);
+        }
+        int barW = 4;
+        int x0 = 100;
+        for (int o = 0; o < octaves.length; o++) {
+            if (octaves[o] == 0) continue;
+            int h = (int) Math.max(1, 12 * octaves[o] / peak);
+            g.setColor((1L << (o + OKTAF_MIN)) > r.budget ? BATANG_LAMBAT : BATANG);
+            g.fillRect(x0 + o * (barW + 1), y + 13 - h, barW, h);
+        }
+        g.setColor(Color.DARK_GRAY);
+        g.drawLine(x0, y + 14, x0 + octaves.length * (barW + 1), y + 14);
+    }
+}
@@ -1,48 +1,66 @@
 import java.awt.Color;
-import java.util.Objects;
-import java.util.UUID;
 
+/**
+ * Pegangan ke satu pemain di PlayerStore: nomor pemain dan store-nya. Data posisi, poin dan
+ * warna ada di array store; dua Player sama hanya jika objeknya sama, dan setiap indeks di
+ * store selalu punya satu objek Player yang sama.
+ */
 public class Player implements Comparable<Player> {
-    private final String name;
-    private int position;
-    private final Color color;
-    private final String id;
-    private int bonusPoints;
+    private PlayerStore store;
+    private int index;
 
+    // Pemain baru dari lobby punya store sendiri sampai dimasukkan ke permainan lewat PlayerStore.of
     public Player(String name, Color color) {
-        this.name = name;
-        this.position = 1;
-        this.color = color;
-        this.id = name + "-" + UUID.randomUUID();
-        this.bonusPoints = 0;
+        this.store = new PlayerStore(1);
+        this.index = store.add(name, color, this);
+    }
+
+    Player(PlayerStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    void bind(PlayerStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    PlayerStore getStore() {
+        return store;
+    }
+
+    /** Nomor pemain di permainannya, sama dengan urutan giliran. */
+    public int getIndex() {
+        return index;
     }
 
     public String getName() {
-        return name;
+        return store.name(index);
     }
 
     public int getPosition() {
-        return position;
+        return store.position(index);
     }
 
     public void setPosition(int newPosition) {
-        this.position = Math.max(1, Math.min(newPosition, 64));
+        store.setPosition(index, newPosition);
     }
 
-    public Color getColor() {
-        return color;
+    // Petak terakhir papan yang sedang dimainkan; berlaku untuk semua pemain di store yang sama
+    public void setMaxPosition(int maxPosition) {
+        store.setMaxPosition(maxPosition);
     }
 
-    public String getId() {
-        return id;
+    public Color getColor() {
+        return store.color(index);
     }
 
     public int getBonusPoints() {
-        return bonusPoints;
+        return store.points(index);
     }
 
     public void addBonusPoints(int points) {
-        this.bonusPoints += points;
+        store.addPoints(index, points);
     }
 
     @Override
@@ -50,17 +68,4 @@ public class Player implements Comparable<Player> {
         // Higher points first (descending order)
         return Integer.compare(other.getBonusPoints(), this.getBonusPoints());
     }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        Player player = (Player) obj;
-        return Objects.equals(id, player.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-}
\ No newline at end of file
+}
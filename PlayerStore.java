@@ -0,0 +1,212 @@
+import java.awt.Color;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Semua pemain satu permainan dalam array primitif, diindeks dengan nomor pemain 0..n-1 (sama
+ * dengan urutan giliran). Player hanya pegangan (store, index) ke array ini, jadi mencari
+ * pemain, mengubah posisi dan poin, serta mencari bidak di satu petak semuanya O(1) tanpa
+ * alokasi. Bidak di setiap petak disimpan sebagai linked list indeks (head/next/prev) yang
+ * diperbarui saat posisi berubah; paint hanya mengunjungi petak yang terlihat.
+ */
+public final class PlayerStore {
+
+    private static final int KOSONG = -1;
+
+    private int count;
+    private String[] names;
+    private int[] colors;
+    private int[] positions;
+    private int[] points;
+    private int[] next;
+    private int[] prev;
+    private int[] head;
+    private Player[] views;
+    private int maxPosition = GameEngine.FINISH_STANDAR;
+    // Warna yang berbeda hanya sedikit; setiap pemain menyimpan indeks ke palet ini
+    private final List<Color> palette = new ArrayList<>();
+    private RankingIndex ranking;
+    private final List<Player> list = new View();
+
+    public PlayerStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        names = new String[capacity];
+        colors = new int[capacity];
+        positions = new int[capacity];
+        points = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        views = new Player[capacity];
+        head = new int[maxPosition + 1];
+        Arrays.fill(head, KOSONG);
+    }
+
+    /**
+     * Store untuk daftar pemain. Jika daftar itu sudah seluruh isi satu store dengan urutan yang
+     * sama, store itu yang dikembalikan; pemain baru dari lobby dipindahkan ke store baru dan
+     * objek Player yang sama tetap bisa dipakai.
+     */
+    public static PlayerStore of(List<Player> players) {
+        if (!players.isEmpty()) {
+            PlayerStore store = players.get(0).getStore();
+            if (store.count == players.size()) {
+                boolean same = true;
+                for (int i = 0; i < players.size() && same; i++) same = store.views[i] == players.get(i);
+                if (same) return store;
+            }
+        }
+        PlayerStore store = new PlayerStore(players.size());
+        int max = GameEngine.FINISH_STANDAR;
+        for (Player p : players) {
+            if (p.getStore().count != 1) throw new IllegalArgumentException("Pemain sudah ada di permainan lain: " + p.getName());
+            max = Math.max(max, p.getStore().maxPosition);
+        }
+        store.setMaxPosition(max);
+        for (Player p : players) {
+            int i = store.add(p.getName(), p.getColor(), p);
+            store.setPosition(i, p.getPosition());
+            store.points[i] = p.getBonusPoints();
+            p.bind(store, i);
+        }
+        return store;
+    }
+
+    /** Menambah pemain di petak 1 dengan poin 0; hasilnya indeks pemain itu. */
+    public int add(String name, Color color) {
+        return add(name, color, null);
+    }
+
+    int add(String name, Color color, Player view) {
+        if (count == names.length) grow(count * 2);
+        int i = count++;
+        names[i] = name;
+        int c = palette.indexOf(color);
+        if (c < 0) {
+            c = palette.size();
+            palette.add(color);
+        }
+        colors[i] = c;
+        points[i] = 0;
+        positions[i] = 1;
+        link(i);
+        views[i] = view != null ? view : new Player(this, i);
+        if (ranking != null) ranking.add(i);
+        return i;
+    }
+
+    private void grow(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        points = Arrays.copyOf(points, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Daftar Player untuk kode yang bekerja dengan List; get(i) O(1) dan tidak membuat objek baru. */
+    public List<Player> asList() {
+        return list;
+    }
+
+    public Player player(int i) {
+        return views[i];
+    }
+
+    public String name(int i) {
+        return names[i];
+    }
+
+    public Color color(int i) {
+        return palette.get(colors[i]);
+    }
+
+    public int position(int i) {
+        return positions[i];
+    }
+
+    public int points(int i) {
+        return points[i];
+    }
+
+    /** Posisi dibatasi ke 1..petak terakhir papan, seperti Player.setPosition sebelumnya. */
+    public void setPosition(int i, int square) {
+        square = Math.max(1, Math.min(square, maxPosition));
+        if (positions[i] == square) return;
+        unlink(i);
+        positions[i] = square;
+        link(i);
+    }
+
+    public void addPoints(int i, int delta) {
+        points[i] += delta;
+        if (ranking != null && delta != 0) ranking.onPointsChanged(i);
+    }
+
+    public int getMaxPosition() {
+        return maxPosition;
+    }
+
+    /** Petak terakhir papan yang sedang dimainkan; posisi di luar batas dipotong. */
+    public void setMaxPosition(int maxPosition) {
+        if (maxPosition == this.maxPosition) return;
+        this.maxPosition = maxPosition;
+        head = new int[maxPosition + 1];
+        Arrays.fill(head, KOSONG);
+        for (int i = 0; i < count; i++) {
+            positions[i] = Math.max(1, Math.min(positions[i], maxPosition));
+            link(i);
+        }
+    }
+
+    /** Pemain pertama di petak {@code square}, atau -1 jika kosong; lanjutkan dengan {@link #nextOnSquare}. */
+    public int firstOnSquare(int square) {
+        return square >= 1 && square < head.length ? head[square] : KOSONG;
+    }
+
+    public int nextOnSquare(int i) {
+        return next[i];
+    }
+
+    // Hanya satu RankingIndex yang diberi tahu perubahan poin; indeks kedua akan diam-diam basi
+    void attachRanking(RankingIndex ranking) {
+        if (this.ranking != null && this.ranking != ranking) {
+            throw new IllegalStateException("PlayerStore sudah punya RankingIndex");
+        }
+        this.ranking = ranking;
+    }
+
+    private void link(int i) {
+        int sq = positions[i];
+        prev[i] = KOSONG;
+        next[i] = head[sq];
+        if (head[sq] != KOSONG) prev[head[sq]] = i;
+        head[sq] = i;
+    }
+
+    private void unlink(int i) {
+        if (prev[i] != KOSONG) next[prev[i]] = next[i];
+        else head[positions[i]] = next[i];
+        if (next[i] != KOSONG) prev[next[i]] = prev[i];
+    }
+
+    private final class View extends AbstractList<Player> implements RandomAccess {
+        @Override
+        public Player get(int index) {
+            if (index < 0 || index >= count) throw new IndexOutOfBoundsException(String.valueOf(index));
+            return views[index];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Peringkat pemain yang diperbarui sedikit demi sedikit. Pemain disimpan dalam treap yang
+ * diurutkan dari poin tertinggi (seri diurutkan menurut urutan giliran) dan setiap simpul
+ * menyimpan ukuran subpohonnya. Perubahan poin, peringkat seorang pemain, dan pemain pada
+ * peringkat tertentu semuanya O(log n), jadi tidak perlu lagi menyalin ke PriorityQueue.
+ * Simpul treap adalah nomor pemain di PlayerStore, dengan anak dan ukuran di array paralel,
+ * jadi perubahan poin tidak membuat objek apa pun.
+ */
+public class RankingIndex {
+
+    private static final int KOSONG = -1;
+
+    private final PlayerStore store;
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private int[] priority;
+    // Poin saat simpul terakhir disisipkan; kunci urutan treap
+    private int[] key;
+    private int count;
+    private int root = KOSONG;
+    // Hasil split, menggantikan array dua elemen
+    private int splitLeft;
+    private int splitRight;
+
+    public RankingIndex(List<Player> players) {
+        this(PlayerStore.of(players));
+    }
+
+    public RankingIndex(PlayerStore store) {
+        this.store = store;
+        int capacity = Math.max(1, store.size());
+        left = new int[capacity];
+        right = new int[capacity];
+        size = new int[capacity];
+        priority = new int[capacity];
+        key = new int[capacity];
+        for (int i = 0; i < store.size(); i++) add(i);
+        store.attachRanking(this);
+    }
+
+    // Dipanggil oleh PlayerStore.add untuk pemain yang bergabung setelah indeks dibuat
+    void add(int player) {
+        if (player != count) throw new IllegalArgumentException("Pemain harus ditambah berurutan: " + player);
+        if (count == left.length) {
+            int capacity = count * 2;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            size = Arrays.copyOf(size, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            key = Arrays.copyOf(key, capacity);
+        }
+        count++;
+        priority[player] = random.nextInt();
+        reset(player);
+        root = insert(root, player);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Dipanggil oleh PlayerStore.addPoints
+    void onPointsChanged(int player) {
+        if (player >= count || key[player] == store.points(player)) return;
+        root = remove(root, player);
+        reset(player);
+        root = insert(root, player);
+    }
+
+    private void reset(int n) {
+        key[n] = store.points(n);
+        left[n] = KOSONG;
+        right[n] = KOSONG;
+        size[n] = 1;
+    }
+
+    /** Peringkat berbasis 1; pemain dengan poin terbanyak berperingkat 1. */
+    public int rankOf(Player p) {
+        return p.getStore() == store ? rankOf(p.getIndex()) : -1;
+    }
+
+    public int rankOf(int player) {
+        if (player < 0 || player >= count) return -1;
+        int rank = 1;
+        int cur = root;
+        while (cur != KOSONG) {
+            int cmp = compare(player, cur);
+            if (cmp < 0) {
+                cur = left[cur];
+            } else {
+                rank += size(left[cur]);
+                if (cmp == 0) return rank;
+                rank++;
+                cur = right[cur];
+            }
+        }
+        return -1;
+    }
+
+    /** Pemain di posisi {@code index} (berbasis 0) dalam urutan peringkat. */
+    public Player get(int index) {
+        int cur = root;
+        while (cur != KOSONG) {
+            int leftSize = size(left[cur]);
+            if (index < leftSize) {
+                cur = left[cur];
+            } else if (index == leftSize) {
+                return store.player(cur);
+            } else {
+                index -= leftSize + 1;
+                cur = right[cur];
+            }
+        }
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+
+    /** Mengisi {@code out} dengan k pemain teratas secara berurutan. */
+    public void topK(int k, List<Player> out) {
+        out.clear();
+        collect(root, Math.min(k, size()), out);
+    }
+
+    private void collect(int n, int k, List<Player> out) {
+        if (n == KOSONG || out.size() >= k) return;
+        collect(left[n], k, out);
+        if (out.size() < k) out.add(store.player(n));
+        collect(right[n], k, out);
+    }
+
+    // Poin lebih tinggi di depan; jika sama, urutan giliran
+    private int compare(int a, int b) {
+        if (key[a] != key[b]) return Integer.compare(key[b], key[a]);
+        return Integer.compare(a, b);
+    }
+
+    private int size(int n) {
+        return n == KOSONG ? 0 : size[n];
+    }
+
+    private int update(int n) {
+        size[n] = 1 + size(left[n]) + size(right[n]);
+        return n;
+    }
+
+    private int insert(int t, int n) {
+        if (t == KOSONG) return n;
+        if (priority[n] > priority[t]) {
+            split(t, n);
+            left[n] = splitLeft;
+            right[n] = splitRight;
+            return update(n);
+        }
+        if (compare(n, t) < 0) left[t] = insert(left[t], n);
+        else right[t] = insert(right[t], n);
+        return update(t);
+    }
+
+    // Memisahkan t menjadi simpul yang lebih kecil (splitLeft) dan lebih besar (splitRight) dari key
+    private void split(int t, int n) {
+        if (t == KOSONG) {
+            splitLeft = KOSONG;
+            splitRight = KOSONG;
+            return;
+        }
+        if (compare(t, n) < 0) {
+            split(right[t], n);
+            right[t] = splitLeft;
+            splitLeft = update(t);
+        } else {
+            split(left[t], n);
+            left[t] = splitRight;
+            splitRight = update(t);
+        }
+    }
+
+    private int remove(int t, int n) {
+        if (t == KOSONG) return KOSONG;
+        if (t == n) return merge(left[t], right[t]);
+        if (compare(n, t) < 0) left[t] = remove(left[t], n);
+        else right[t] = remove(right[t], n);
+        return update(t);
+    }
+
+    private int merge(int a, int b) {
+        if (a == KOSONG) return b;
+        if (b == KOSONG) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            return update(a);
+        }
+        left[b] = merge(a, left[b]);
+        return update(b);
+    }
+}
@@ -0,0 +1,277 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import javax.imageio.ImageIO;
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+
+/**
+ * Benchmark render offscreen dan uji regresi visual, tanpa layar. Papan (lewat viewport seperti di
+ * jendela permainan), panel kontrol, DicePanel dan panel hasil akhir digambar ke BufferedImage
+ * untuk state permainan yang di-skrip dari seed tetap, ribuan frame per kasus. Setiap frame
+ * mengubah state sedikit (bidak berjalan, giliran berganti, dadu berubah) supaya yang diukur
+ * adalah biaya frame animasi, bukan salinan cache. Setelah pengukuran, frame acuan setiap kasus
+ * dibandingkan piksel per piksel dengan gambar golden.
+ *
+ * <pre>
+ * java RenderBench update bench/golden    # menulis ulang gambar golden dari kode saat ini
+ * java RenderBench check bench/golden     # mengukur dan membandingkan; kode keluar 1 jika ada beda
+ * </pre>
+ *
+ * Jumlah frame diatur dengan -Drender.frames=2000, toleransi per kanal warna dengan
+ * -Drender.tolerance=8. Gambar golden bergantung pada font sistem, jadi buat ulang di mesin yang
+ * sama sebelum membandingkan dua versi kode.
+ */
+public class RenderBench {
+
+    private static final int FRAME_PEMANASAN = Integer.getInteger("render.warmup", 200);
+    private static final int FRAME_UKUR = Integer.getInteger("render.frames", 2000);
+    private static final int TOLERANSI = Integer.getInteger("render.tolerance", 8);
+    private static final int PEMAIN = 4;
+    private static final int PEMAIN_PESTA = 2000;
+    // Frame ke-0 adalah frame acuan; state-nya hanya bergantung pada nomor frame
+    private static final int FRAME_ACUAN = 0;
+    private static final int LANGKAH_PER_GERAK = 12;
+
+    private static long sink;
+
+    // Satu kasus: komponen yang digambar dan cara mengubah state-nya untuk frame ke-f
+    private static final class Scene {
+        final String name;
+        final String params;
+        final JComponent component;
+        final IntConsumer step;
+        final BufferedImage image;
+
+        Scene(String name, String params, JComponent component, Dimension size, IntConsumer step) {
+            this.name = name;
+            this.params = params;
+            this.component = component;
+            this.step = step;
+            // Peer ringan (juga tersedia headless) membuat validate() dan revalidate() berjalan seperti di jendela
+            component.addNotify();
+            component.setSize(size);
+            component.validate();
+            this.image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        String key() {
+            return name + "-" + params.replace('=', '_').replace(',', '_');
+        }
+
+        void render(int frame) {
+            step.accept(frame);
+            component.validate();
+            Graphics2D g = image.createGraphics();
+            component.paint(g);
+            g.dispose();
+            sink += image.getRGB(frame % image.getWidth(), frame % image.getHeight());
+        }
+    }
+
+    // Posisi pemain dari permainan yang dimainkan dengan dadu seed tetap
+    private static List<Player> scriptedPlayers(int count, BoardModel board, long seed) {
+        GameEngine engine = new GameEngine(board);
+        DiceSource dice = DiceSource.seeded(seed);
+        List<Player> players = GameBenchmark.playersFor(count, new SplittableRandom(seed));
+        for (Player p : players) p.setMaxPosition(engine.getFinish());
+        for (int turn = 0; turn < count * 3 * board.getSize(); turn++) {
+            Player p = players.get(turn % count);
+            int next = engine.finalPosition(p.getPosition(), dice.roll());
+            if (next == engine.getFinish()) continue;
+            p.setPosition(next);
+            p.addBonusPoints(engine.getBonus(next));
+        }
+        return players;
+    }
+
+    private static Scene boardScene(int size, int playerCount) {
+        BoardModel board = BoardModel.standard(size, new SplitMix64(size));
+        List<Player> players = scriptedPlayers(playerCount, board, size);
+        BoardCanvas canvas = new BoardCanvas(board, AssetManager.shared());
+        canvas.setPlayers(players);
+        JScrollPane viewport = new JScrollPane(canvas);
+        viewport.setBorder(null);
+        viewport.getViewport().setBackground(Color.BLACK);
+        Dimension view = canvas.getPreferredScrollableViewportSize();
+        canvas.setSize(canvas.getPreferredSize());
+        // Viewport dipusatkan di bidak pemain pertama; setiap frame satu bidak bergerak satu petak
+        Player first = players.get(0);
+        int finish = size * size;
+        String params = "size=" + size + (playerCount == PEMAIN ? "" : ",players=" + playerCount);
+        return new Scene("board", params, viewport, view, f -> {
+            int from = Math.min(finish - 1, first.getPosition() + (f / LANGKAH_PER_GERAK) % 6);
+            float t = (f % LANGKAH_PER_GERAK) / (float) LANGKAH_PER_GERAK;
+            if (f == FRAME_ACUAN) centerOn(viewport, canvas, first.getPosition());
+            canvas.setTokenMotion(0, from, from + 1, t);
+        });
+    }
+
+    private static void centerOn(JScrollPane viewport, BoardCanvas canvas, int square) {
+        Dimension view = viewport.getViewport().getExtentSize();
+        Dimension full = canvas.getPreferredSize();
+        Rectangle r = canvas.squareBounds(square);
+        int x = Math.max(0, Math.min(full.width - view.width, r.x + r.width / 2 - view.width / 2));
+        int y = Math.max(0, Math.min(full.height - view.height, r.y + r.height / 2 - view.height / 2));
+        viewport.getViewport().setViewPosition(new Point(x, y));
+    }
+
+    private static Scene controlScene(int playerCount, int boardSize) {
+        BoardModel board = BoardModel.standard(boardSize, new SplitMix64(boardSize));
+        List<Player> players = scriptedPlayers(playerCount, board, playerCount);
+        RankingIndex ranking = new RankingIndex(players);
+        BoardCanvas canvas = new BoardCanvas(board, AssetManager.shared());
+        canvas.setPlayers(players);
+        canvas.setSize(canvas.getPreferredScrollableViewportSize());
+        ControlPanel panel = new ControlPanel(boardSize > PapanUlarTanggaGUI.UKURAN_PAPAN ? canvas.getMinimap() : null,
+                new int[] {1, 2, 4, 8, 0}, e -> { }, k -> { }, () -> { }, () -> { });
+        int[] base = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) base[i] = players.get(i).getPosition();
+        int[] shown = base.clone();
+        // Setiap frame satu giliran: pemain yang sedang jalan maju, poinnya berubah, dadu berganti
+        return new Scene("control", "players=" + playerCount + ",board=" + boardSize, panel, new Dimension(280, 760), f -> {
+            int who = f % playerCount;
+            int finish = boardSize * boardSize;
+            for (int i = 0; i < playerCount; i++) {
+                Player p = players.get(i);
+                int pos = Math.min(finish - 1, base[i] + (f / playerCount) % 6);
+                if (p.getPosition() != pos) {
+                    // Seperti permainan: petak lama dan baru dilaporkan supaya minimap ikut berubah
+                    canvas.repaintSquare(p.getPosition());
+                    p.setPosition(pos);
+                    canvas.repaintSquare(pos);
+                }
+                if (shown[i] != pos) {
+                    p.addBonusPoints(pos - shown[i]);
+                    shown[i] = pos;
+                }
+            }
+            panel.getDiceDisplay().setDiceValue(1 + f % 6, f % 7 == 0);
+            panel.update(players, who, ranking);
+        });
+    }
+
+    private static Scene diceScene() {
+        DicePanel dice = new DicePanel(0);
+        return new Scene("dice", "size=80", dice, dice.getPreferredSize(), f -> dice.setDiceValue(f % 7, f % 13 == 0));
+    }
+
+    private static Scene winnerScene(int playerCount) {
+        BoardModel board = BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(1));
+        List<Player> players = scriptedPlayers(playerCount, board, 1);
+        List<Player> rank = new ArrayList<>();
+        new RankingIndex(players).topK(playerCount, rank);
+        JComponent panel = PapanUlarTanggaGUI.createWinnerPanel(rank, rank.get(0), () -> { });
+        return new Scene("winner", "players=" + playerCount, panel, panel.getPreferredSize(), f -> { });
+    }
+
+    // Jumlah piksel yang salah satu kanal warnanya berbeda lebih dari TOLERANSI; beda ditandai merah di diff
+    private static long diff(BufferedImage expected, BufferedImage actual, BufferedImage out) {
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+            return (long) actual.getWidth() * actual.getHeight();
+        }
+        long count = 0;
+        for (int y = 0; y < actual.getHeight(); y++) {
+            for (int x = 0; x < actual.getWidth(); x++) {
+                int a = expected.getRGB(x, y);
+                int b = actual.getRGB(x, y);
+                boolean same = Math.abs((a >> 16 & 0xFF) - (b >> 16 & 0xFF)) <= TOLERANSI
+                        && Math.abs((a >> 8 & 0xFF) - (b >> 8 & 0xFF)) <= TOLERANSI
+                        && Math.abs((a & 0xFF) - (b & 0xFF)) <= TOLERANSI;
+                if (!same) count++;
+                // Piksel sama digambar redup supaya letak beda mudah dilihat
+                out.setRGB(x, y, same ? (b >> 2) & 0x3F3F3F : 0xFF0000);
+            }
+        }
+        return count;
+    }
+
+    private static BufferedImage copy(BufferedImage img) {
+        BufferedImage c = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_RGB);
+        c.getGraphics().drawImage(img, 0, 0, null);
+        return c;
+    }
+
+    private static int run(boolean update, Path dir) throws Exception {
+        // Semua gambar didekode dulu supaya frame pertama tidak menggambar bidak cadangan
+        String[] images = new String[AssetManager.JUMLAH_BIDAK];
+        for (int i = 0; i < images.length; i++) images[i] = "images/" + (i + 1) + ".png";
+        AssetManager.shared().preload(images).join();
+        Files.createDirectories(dir);
+
+        List<BufferedImage> frames = new ArrayList<>();
+        List<Scene> scenes = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int size : new int[] {8, 20, 100, 1000}) scenes.add(boardScene(size, PEMAIN));
+            // Mode pesta: ribuan bidak, sebagian besar menumpuk di petak yang sama
+            scenes.add(boardScene(100, PEMAIN_PESTA));
+            scenes.add(controlScene(PEMAIN, PapanUlarTanggaGUI.UKURAN_PAPAN));
+            scenes.add(controlScene(100, 100));
+            scenes.add(controlScene(PEMAIN_PESTA, 100));
+            scenes.add(diceScene());
+            scenes.add(winnerScene(PEMAIN));
+        });
+
+        System.out.println("# kasus\tparams\tframe/detik\tms/frame\tframe pertama ms\tpiksel beda");
+        int failures = 0;
+        for (Scene s : scenes) {
+            double[] result = new double[3];
+            SwingUtilities.invokeAndWait(() -> {
+                long t0 = System.nanoTime();
+                s.render(FRAME_ACUAN);
+                result[0] = (System.nanoTime() - t0) / 1e6;
+                for (int f = 1; f <= FRAME_PEMANASAN; f++) s.render(f);
+                long start = System.nanoTime();
+                for (int f = 1; f <= FRAME_UKUR; f++) s.render(f);
+                long elapsed = System.nanoTime() - start;
+                result[1] = FRAME_UKUR / (elapsed / 1e9);
+                result[2] = elapsed / 1e6 / FRAME_UKUR;
+                s.render(FRAME_ACUAN);
+                frames.add(copy(s.image));
+            });
+            BufferedImage actual = frames.get(frames.size() - 1);
+            Path golden = dir.resolve(s.key() + ".png");
+            String status;
+            if (update) {
+                ImageIO.write(actual, "png", golden.toFile());
+                status = "golden ditulis";
+            } else if (!Files.exists(golden)) {
+                status = "golden belum ada";
+                failures++;
+            } else {
+                BufferedImage out = new BufferedImage(actual.getWidth(), actual.getHeight(), BufferedImage.TYPE_INT_RGB);
+                long count = diff(ImageIO.read(golden.toFile()), actual, out);
+                status = Long.toString(count);
+                if (count > 0) {
+                    failures++;
+                    Path diffFile = dir.resolve(s.key() + ".diff.png");
+                    ImageIO.write(out, "png", diffFile.toFile());
+                    status += "\tBEDA (" + diffFile + ")";
+                }
+            }
+            System.out.printf("%s\t%s\t%.1f\t%.3f\t%.1f\t%s%n", s.name, s.params, result[1], result[2], result[0], status);
+        }
+        if (!update) System.out.println(failures == 0 ? "Semua frame sama dengan golden." : failures + " kasus berbeda dari golden.");
+        if (sink == 42) System.out.println();
+        return failures == 0 ? 0 : 1;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        boolean update = args.length > 0 && args[0].equals("update");
+        Path dir = Paths.get(args.length > 1 ? args[1] : "bench/golden");
+        int code = run(update, dir);
+        System.exit(code);
+    }
+}
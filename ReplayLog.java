@@ -0,0 +1,320 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Rekaman satu game: log biner yang hanya ditambah di ujungnya, satu byte per lemparan dan
+ * keyframe state berukuran tetap setiap K lemparan (lihat {@link #interval}).
+ *
+ * <pre>
+ * int    MAGIC "UTRL"      short  VERSI      short  interval keyframe K
+ * int    panjang snapshot, lalu GameSnapshot awal (papan, pemain, giliran)
+ * blok   K byte lemparan (bertanda; negatif = dadu merah), lalu keyframe:
+ *        int jumlah lemparan, int giliran, byte selesai, per pemain: int posisi, int poin
+ * </pre>
+ *
+ * Karena setiap blok sama panjang, letak keyframe ke-j bisa dihitung langsung dari j, jadi
+ * lompat ke lemparan mana pun cukup membaca satu keyframe lalu menerapkan paling banyak K-1
+ * lemparan. File dibaca lewat FileChannel.map tanpa diurai; hanya snapshot awal yang didekode.
+ * Game 8x8 empat pemain rata-rata sekitar 300 byte (sebagian besar snapshot papan), jadi setiap
+ * game kios bisa disimpan.
+ */
+public final class ReplayLog {
+
+    public static final int MAGIC = 0x5554524C;
+    public static final short VERSI = 1;
+    public static final int INTERVAL = 64;
+    public static final int INTERVAL_MAKS = 1 << 14;
+
+    private final MappedByteBuffer data;
+    private final GameSnapshot start;
+    private final GameEngine engine;
+    private final int players;
+    private final int interval;
+    private final int header;
+    private final int keyframeSize;
+    private final int stride;
+    private final int turns;
+
+    /** State dinamis satu titik dalam game; dipakai ulang saat memutar supaya tidak ada alokasi. */
+    public static final class State {
+        public final int[] positions;
+        public final int[] points;
+        public int current;
+        public boolean ended;
+        public int turns;
+
+        public State(int players) {
+            positions = new int[players];
+            points = new int[players];
+        }
+
+        void reset(GameSnapshot snap) {
+            int i = 0;
+            for (Player p : snap.createPlayers()) {
+                positions[i] = p.getPosition();
+                points[i] = p.getBonusPoints();
+                i++;
+            }
+            current = snap.getCurrentPlayer();
+            ended = snap.isGameEnded();
+            turns = snap.getTurnsPlayed();
+        }
+
+        // Satu giliran persis seperti di GUI: gerak, poin petak akhir, cek finish, ganti pemain
+        void apply(GameEngine engine, int dice) {
+            int p = current;
+            positions[p] = engine.finalPosition(positions[p], dice);
+            points[p] += engine.getBonus(positions[p]);
+            turns++;
+            if (positions[p] == engine.getFinish()) ended = true;
+            else current = (p + 1) % positions.length;
+        }
+    }
+
+    private ReplayLog(MappedByteBuffer data, GameSnapshot start, int interval, int header) {
+        this.data = data;
+        this.start = start;
+        this.engine = new GameEngine(start.getBoard());
+        this.players = start.createPlayers().size();
+        this.interval = interval;
+        this.header = header;
+        this.keyframeSize = keyframeSize(players);
+        this.stride = interval + keyframeSize;
+        int body = data.capacity() - header;
+        // Blok terakhir boleh terpotong (game belum selesai atau proses mati); keyframe yang belum utuh diabaikan
+        this.turns = body / stride * interval + Math.min(body % stride, interval);
+    }
+
+    /**
+     * Jarak keyframe untuk {@code players} pemain: 64 lemparan, atau 8 lemparan per pemain di mode
+     * pesta supaya keyframe tetap sekitar satu byte per lemparan. Lompat tetap tidak bergantung
+     * pada panjang game, paling banyak INTERVAL_MAKS lemparan diterapkan ulang.
+     */
+    static int interval(int players) {
+        return Math.min(INTERVAL_MAKS, Math.max(INTERVAL, players * 8));
+    }
+
+    static int keyframeSize(int players) {
+        return 4 + 4 + 1 + players * 8;
+    }
+
+    /** Folder rekaman; bisa diganti dengan -Dular.replay=folder. */
+    public static Path directory() {
+        return Paths.get(System.getProperty("ular.replay", "replay"));
+    }
+
+    /** Membuka rekaman dengan memetakan file ke memori. */
+    public static ReplayLog open(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        if (data.capacity() < 12 || data.getInt(0) != MAGIC) throw new IOException("Bukan file rekaman: " + file);
+        if (data.getShort(4) != VERSI) throw new IOException("Versi rekaman tidak dikenal: " + data.getShort(4));
+        int interval = data.getShort(6);
+        int length = data.getInt(8);
+        if (interval < 1 || length < 0 || 12L + length > data.capacity()) throw new IOException("Header rekaman rusak: " + file);
+        byte[] snap = new byte[length];
+        data.get(12, snap);
+        return new ReplayLog(data, GameSnapshot.fromBytes(snap), interval, 12 + length);
+    }
+
+    public GameSnapshot getStart() {
+        return start;
+    }
+
+    public BoardModel getBoard() {
+        return start.getBoard();
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    /** Jumlah lemparan yang terekam. */
+    public int getTurns() {
+        return turns;
+    }
+
+    /** Lemparan ke-{@code i} (berbasis 0) sejak awal rekaman; negatif untuk dadu merah. */
+    public int roll(int i) {
+        return data.get(header + i / interval * stride + i % interval);
+    }
+
+    public State newState() {
+        return new State(players);
+    }
+
+    /** Mengisi {@code out} dengan state setelah {@code turn} lemparan, dalam waktu tetap. */
+    public void seek(int turn, State out) {
+        if (turn < 0 || turn > turns) throw new IllegalArgumentException("Lemparan di luar rekaman: " + turn);
+        int k = turn / interval;
+        // Keyframe baru ditulis sebelum lemparan berikutnya, jadi di ujung rekaman bisa belum ada
+        if (k > 0 && header + (long) k * stride > data.capacity()) k--;
+        if (k == 0) {
+            out.reset(start);
+        } else {
+            int at = header + k * stride - keyframeSize;
+            if (data.getInt(at) != k * interval) throw new IllegalStateException("Keyframe rusak di lemparan " + k * interval);
+            out.turns = start.getTurnsPlayed() + k * interval;
+            out.current = data.getInt(at + 4);
+            out.ended = data.get(at + 8) != 0;
+            for (int i = 0; i < players; i++) {
+                out.positions[i] = data.getInt(at + 9 + i * 8);
+                out.points[i] = data.getInt(at + 13 + i * 8);
+            }
+        }
+        for (int i = k * interval; i < turn; i++) out.apply(engine, roll(i));
+    }
+
+    /**
+     * Penulis rekaman untuk game yang sedang berjalan. State diikuti sendiri dengan engine yang
+     * sama, jadi pemanggil cukup memberikan hasil dadu setiap giliran.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel ch;
+        private final GameEngine engine;
+        private final State state;
+        private final ByteBuffer out;
+        private final int interval;
+        private int written;
+
+        private Writer(FileChannel ch, GameSnapshot start) throws IOException {
+            this.ch = ch;
+            this.engine = new GameEngine(start.getBoard());
+            this.state = new State(start.createPlayers().size());
+            state.reset(start);
+            this.interval = interval(state.positions.length);
+            byte[] snap = start.toBytes();
+            this.out = ByteBuffer.allocate(Math.max(12 + snap.length, 1 + keyframeSize(state.positions.length)));
+            out.putInt(MAGIC).putShort(VERSI).putShort((short) interval).putInt(snap.length).put(snap);
+            write();
+        }
+
+        /** File rekaman baru di {@code dir}, dinamai menurut waktu mulai. */
+        public static Writer create(Path dir, GameSnapshot start) throws IOException {
+            Files.createDirectories(dir);
+            String name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")) + ".utr";
+            return createFile(dir.resolve(name), start);
+        }
+
+        static Writer createFile(Path file, GameSnapshot start) throws IOException {
+            return new Writer(FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), start);
+        }
+
+        /** Mencatat satu lemparan; setiap K lemparan didahului keyframe state saat itu. */
+        public void roll(int dice) throws IOException {
+            if (dice < -128 || dice > 127 || dice == 0) throw new IllegalArgumentException("Nilai dadu tidak valid: " + dice);
+            if (written > 0 && written % interval == 0) {
+                out.putInt(written).putInt(state.current).put((byte) (state.ended ? 1 : 0));
+                for (int i = 0; i < state.positions.length; i++) out.putInt(state.positions[i]).putInt(state.points[i]);
+            }
+            out.put((byte) dice);
+            write();
+            state.apply(engine, dice);
+            written++;
+        }
+
+        public int getTurns() {
+            return written;
+        }
+
+        private void write() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) ch.write(out);
+            out.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+
+    /**
+     * Uji rekaman tanpa tampilan: {@code java ReplayLog [game] [pemain]}. Game disimulasikan dan
+     * direkam ke folder sementara, lalu setiap rekaman dibuka, dicocokkan dengan state asli di
+     * setiap lemparan, dan diukur waktu lompat acaknya.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = Long.getLong("ular.seed", 42L);
+        Path dir = Files.createTempDirectory("replay");
+        BoardModel board = BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(seed));
+        GameEngine engine = new GameEngine(board);
+        DiceSource.Seeded dice = DiceSource.seeded(seed);
+
+        long bytes = 0;
+        long totalTurns = 0;
+        int mismatches = 0;
+        Path[] files = new Path[games];
+        int[][] expected = new int[games][];
+        for (int g = 0; g < games; g++) {
+            java.util.List<Player> players = GameBenchmark.playersFor(count, new SplittableRandom(g));
+            for (Player p : players) {
+                p.addBonusPoints(-p.getBonusPoints());
+                p.setMaxPosition(engine.getFinish());
+            }
+            files[g] = dir.resolve(g + ".utr");
+            State live = new State(count);
+            try (Writer w = Writer.createFile(files[g], new GameSnapshot(board, players, 0, false, 0, dice.getState()))) {
+                live.reset(new GameSnapshot(board, players, 0, false, 0, 0));
+                while (!live.ended && live.turns < GameEngine.MAX_GILIRAN) {
+                    int d = dice.roll();
+                    w.roll(d);
+                    live.apply(engine, d);
+                }
+            }
+            expected[g] = Arrays.copyOf(live.positions, count);
+            bytes += Files.size(files[g]);
+            totalTurns += live.turns;
+        }
+
+        // Memutar setiap lemparan berurutan harus sama dengan lompat langsung ke lemparan itu
+        LatencyHistogram seekTime = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(seed);
+        long playback = 0;
+        for (int g = 0; g < games; g++) {
+            ReplayLog log = open(files[g]);
+            State seq = log.newState();
+            State jump = log.newState();
+            log.seek(0, seq);
+            long t0 = System.nanoTime();
+            for (int t = 0; t < log.getTurns(); t++) seq.apply(log.getEngine(), log.roll(t));
+            playback += System.nanoTime() - t0;
+            if (!Arrays.equals(seq.positions, expected[g])) mismatches++;
+            for (int i = 0; i < 50; i++) {
+                int t = random.nextInt(log.getTurns() + 1);
+                long s0 = System.nanoTime();
+                log.seek(t, jump);
+                seekTime.record(System.nanoTime() - s0);
+            }
+            log.seek(log.getTurns(), jump);
+            if (!Arrays.equals(jump.positions, expected[g]) || !Arrays.equals(jump.points, seq.points)) mismatches++;
+        }
+        System.out.printf("%d game, %d pemain: rata-rata %.1f lemparan, %.0f byte per rekaman (%.2f byte per lemparan)%n",
+                games, count, totalTurns / (double) games, bytes / (double) games, bytes / (double) totalTurns);
+        System.out.printf("putar berurutan: %.1f ns per lemparan%n", playback / (double) totalTurns);
+        System.out.println("lompat acak: " + seekTime.summary());
+        System.out.println("rekaman tidak cocok: " + mismatches);
+        try (var stream = Files.list(dir)) {
+            for (Path p : stream.toList()) Files.delete(p);
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,173 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Pemutar rekaman ReplayLog memakai BoardCanvas yang sama dengan permainan. Slider lompat ke
+ * lemparan mana pun lewat keyframe; pemutaran berjalan di AnimationClock dengan kecepatan
+ * 1x sampai 1000x. Sampai 10x bidak berjalan petak demi petak, di atasnya langsung melompat.
+ *
+ * {@code java ReplayViewer [file]}; tanpa argumen, rekaman terbaru di folder replay dibuka.
+ */
+public class ReplayViewer extends JFrame {
+
+    private static final int[] PILIHAN_KECEPATAN = {1, 2, 5, 10, 100, 1000};
+    // Kecepatan 1x: satu lemparan per detik
+    private static final long DURASI_LEMPARAN = 1_000_000_000L;
+    private static final int KECEPATAN_ANIMASI = 10;
+
+    private final ReplayLog log;
+    private final ReplayLog.State state;
+    private final List<Player> players;
+    private final GameEngine.Move langkah = new GameEngine.Move();
+    private final AnimationClock clock = new AnimationClock();
+    private final BoardCanvas boardCanvas;
+    private final DicePanel diceDisplay = new DicePanel(0);
+    private final JSlider slider;
+    private final JLabel turnLabel = new JLabel();
+    private final JButton playButton;
+    private int kecepatan = 1;
+    private boolean playing;
+    private boolean syncingSlider;
+    private double position;
+    private int shownTurn = -1;
+
+    public ReplayViewer(ReplayLog log, String title) {
+        this.log = log;
+        this.state = log.newState();
+        this.players = log.getStart().createPlayers();
+        setTitle("🎬 Replay - " + title);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        boardCanvas = new BoardCanvas(log.getBoard(), AssetManager.shared());
+        boardCanvas.setPlayers(players);
+        JScrollPane viewport = new JScrollPane(boardCanvas);
+        viewport.setBorder(null);
+        viewport.getViewport().setBackground(Color.BLACK);
+
+        playButton = PapanUlarTanggaGUI.createStyledButton("▶ PUTAR", 14);
+        playButton.setPreferredSize(new Dimension(120, 40));
+        playButton.addActionListener(e -> setPlaying(!playing));
+
+        slider = new JSlider(0, log.getTurns(), 0);
+        slider.setOpaque(false);
+        slider.setPreferredSize(new Dimension(360, 40));
+        slider.addChangeListener(e -> {
+            if (syncingSlider) return;
+            position = slider.getValue();
+            showTurn();
+        });
+
+        JComboBox<String> speedBox = new JComboBox<>();
+        for (int k : PILIHAN_KECEPATAN) speedBox.addItem("Kecepatan " + k + "x");
+        speedBox.addActionListener(e -> kecepatan = PILIHAN_KECEPATAN[speedBox.getSelectedIndex()]);
+
+        turnLabel.setForeground(Color.WHITE);
+        turnLabel.setFont(new Font("Arial", Font.BOLD, 14));
+
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.CENTER, 12, 8));
+        bar.setBackground(new Color(0x004D40));
+        bar.setBorder(BorderFactory.createMatteBorder(4, 0, 0, 0, Color.YELLOW));
+        bar.add(playButton);
+        bar.add(slider);
+        bar.add(speedBox);
+        bar.add(turnLabel);
+        bar.add(diceDisplay);
+
+        setLayout(new BorderLayout());
+        add(viewport, BorderLayout.CENTER);
+        add(bar, BorderLayout.SOUTH);
+        showTurn();
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private void setPlaying(boolean play) {
+        if (play == playing) return;
+        playing = play;
+        playButton.setText(play ? "⏸ JEDA" : "▶ PUTAR");
+        if (!play) return;
+        if (position >= log.getTurns()) position = 0;
+        clock.start(new Playback());
+    }
+
+    // Waktu jam diubah menjadi posisi lemparan; lompatan antar frame selalu lewat seek, jadi 1000x tetap murah
+    private final class Playback implements AnimationClock.Animation {
+        private long last;
+
+        @Override
+        public boolean tick(long now) {
+            if (!playing || !isDisplayable()) return false;
+            if (last != 0) position += (double) (now - last) * kecepatan / DURASI_LEMPARAN;
+            last = now;
+            if (position >= log.getTurns()) {
+                position = log.getTurns();
+                setPlaying(false);
+            }
+            showTurn();
+            return playing;
+        }
+    }
+
+    /** Menampilkan papan pada {@link #position}; bagian pecahan menjadi gerakan bidak lemparan berikutnya. */
+    private void showTurn() {
+        int turn = (int) position;
+        if (turn != shownTurn) {
+            boardCanvas.clearTokenMotion();
+            log.seek(turn, state);
+            for (int i = 0; i < players.size(); i++) {
+                Player p = players.get(i);
+                if (p.getPosition() != state.positions[i]) {
+                    boardCanvas.repaintSquare(p.getPosition());
+                    p.setPosition(state.positions[i]);
+                    boardCanvas.repaintSquare(p.getPosition());
+                }
+                p.addBonusPoints(state.points[i] - p.getBonusPoints());
+            }
+            shownTurn = turn;
+            int roll = turn > 0 ? log.roll(turn - 1) : 0;
+            diceDisplay.setDiceValue(Math.abs(roll), roll < 0);
+            turnLabel.setText("Lemparan " + turn + " / " + log.getTurns() + "  |  " + players.get(state.current).getName());
+            syncingSlider = true;
+            slider.setValue(turn);
+            syncingSlider = false;
+        }
+        double t = position - turn;
+        if (kecepatan > KECEPATAN_ANIMASI || t == 0 || turn >= log.getTurns() || state.ended) {
+            boardCanvas.clearTokenMotion();
+            return;
+        }
+        int who = state.current;
+        int from = state.positions[who];
+        log.getEngine().resolveMove(from, log.roll(turn), langkah);
+        if (langkah.length() == 0) return;
+        double f = t * langkah.length();
+        int i = Math.min((int) f, langkah.length() - 1);
+        boardCanvas.setTokenMotion(who, i == 0 ? from : langkah.square(i - 1), langkah.square(i), (float) (f - i));
+    }
+
+    // Rekaman terbaru menurut nama file, yang berupa waktu mulai game
+    private static Optional<Path> newest(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return Optional.empty();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".utr")).max(Comparator.naturalOrder());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : newest(ReplayLog.directory()).orElse(null);
+        if (file == null) {
+            System.err.println("Belum ada rekaman di " + ReplayLog.directory().toAbsolutePath());
+            System.exit(1);
+        }
+        ReplayLog log = ReplayLog.open(file);
+        SwingUtilities.invokeLater(() -> new ReplayViewer(log, file.getFileName().toString()).setVisible(true));
+    }
+}
@@ -0,0 +1,255 @@
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Menjalankan banyak meja permainan sekaligus dalam satu JVM tanpa Swing. Setiap sesi punya
+ * state sendiri (posisi, poin, giliran, aliran dadu) dan satu virtual thread yang tidur sampai
+ * tenggat giliran berikutnya, menggantikan javax.swing.Timer di PapanUlarTanggaGUI. Tempo sama
+ * seperti animasi GUI: satu langkah {@code stepNanos}, warp 5/4 langkah. Papan dipakai bersama
+ * karena BoardModel dan MoveTable tidak berubah.
+ *
+ * <p>Latensi giliran = keterlambatan bangun dari tenggat + waktu memproses giliran, dicatat ke
+ * {@link LatencyHistogram}. Jika host kewalahan tenggat tidak dikejar beruntun, jadwal digeser
+ * ke waktu sekarang supaya sesi lain tidak tertahan oleh rentetan giliran susulan.
+ */
+public class SessionHost implements AutoCloseable {
+
+    public static final int MIN_PEMAIN = 2;
+    public static final int MAX_PEMAIN = 6;
+
+    private final GameEngine engine;
+    private final long stepNanos;
+    private final DiceSource.Seeded dice;
+    private final ConcurrentHashMap<Integer, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+    private final AtomicLong turnsPlayed = new AtomicLong();
+    private final AtomicLong gamesFinished = new AtomicLong();
+    private volatile boolean closed;
+
+    public SessionHost(BoardModel board, long stepNanos, long seed) {
+        if (stepNanos <= 0) throw new IllegalArgumentException("Durasi langkah harus positif");
+        this.engine = new GameEngine(board);
+        this.stepNanos = stepNanos;
+        this.dice = DiceSource.seeded(seed);
+    }
+
+    /** Membuka sesi baru dengan {@code players} pemain dan langsung memulai thread-nya; hasilnya id sesi. */
+    public int open(int players) {
+        if (players < MIN_PEMAIN || players > MAX_PEMAIN) {
+            throw new IllegalArgumentException("Jumlah pemain harus " + MIN_PEMAIN + "-" + MAX_PEMAIN + ": " + players);
+        }
+        if (closed) throw new IllegalStateException("Host sudah ditutup");
+        int id = nextId.getAndIncrement();
+        DiceSource.Seeded sessionDice;
+        synchronized (dice) {
+            sessionDice = dice.split();
+        }
+        Session s = new Session(id, players, sessionDice);
+        sessions.put(id, s);
+        s.thread = Thread.ofVirtual().name("sesi-" + id).start(s);
+        return id;
+    }
+
+    /** Menghentikan satu sesi; state terakhirnya tidak bisa dibaca lagi. */
+    public void closeSession(int id) {
+        Session s = sessions.remove(id);
+        if (s != null) {
+            s.stopped = true;
+            LockSupport.unpark(s.thread);
+        }
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public BoardModel getBoard() {
+        return engine.getBoard();
+    }
+
+    /** State sesi saat ini sebagai GameSnapshot (bisa langsung disimpan), atau null jika sesi tidak ada. */
+    public GameSnapshot snapshot(int id) {
+        Session s = sessions.get(id);
+        return s == null ? null : s.snapshot();
+    }
+
+    /** Posisi pemain sesi {@code id} disalin ke {@code out}; hasilnya jumlah pemain, atau -1 jika sesi tidak ada. */
+    public int positions(int id, int[] out) {
+        Session s = sessions.get(id);
+        if (s == null) return -1;
+        synchronized (s) {
+            System.arraycopy(s.positions, 0, out, 0, s.players);
+            return s.players;
+        }
+    }
+
+    public LatencyHistogram getTurnLatency() {
+        return turnLatency;
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed.get();
+    }
+
+    public long getGamesFinished() {
+        return gamesFinished.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        List<Thread> threads = new ArrayList<>(sessions.size());
+        for (Session s : sessions.values()) {
+            s.stopped = true;
+            threads.add(s.thread);
+            LockSupport.unpark(s.thread);
+        }
+        sessions.clear();
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Session implements Runnable {
+        final int id;
+        final int players;
+        final DiceSource.Seeded dice;
+        final int[] positions;
+        final int[] points;
+        final GameEngine.Move move = new GameEngine.Move();
+        int current;
+        int turns;
+        boolean ended;
+        volatile boolean stopped;
+        Thread thread;
+
+        Session(int id, int players, DiceSource.Seeded dice) {
+            this.id = id;
+            this.players = players;
+            this.dice = dice;
+            this.positions = new int[players];
+            this.points = new int[players];
+            Arrays.fill(positions, 1);
+        }
+
+        @Override
+        public void run() {
+            // Meja dimulai tersebar dalam satu langkah supaya ribuan sesi tidak bangun bersamaan
+            long deadline = System.nanoTime() + Math.floorMod(id * 0x9E3779B9L, stepNanos);
+            while (!stopped && !closed) {
+                long wait;
+                while ((wait = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (stopped || closed) return;
+                }
+                long duration = playTurn();
+                long now = System.nanoTime();
+                turnLatency.record(now - deadline);
+                deadline = Math.max(deadline + duration, now);
+            }
+        }
+
+        // Satu giliran; hasilnya lama animasi giliran itu di GUI, yaitu jeda sampai giliran berikutnya
+        private synchronized long playTurn() {
+            if (ended) {
+                Arrays.fill(positions, 1);
+                Arrays.fill(points, 0);
+                current = 0;
+                turns = 0;
+                ended = false;
+                return stepNanos;
+            }
+            engine.resolveMove(positions[current], dice.roll(), move);
+            int pos = move.getFinalPosition();
+            positions[current] = pos;
+            points[current] += engine.getBonus(pos);
+            turns++;
+            turnsPlayed.incrementAndGet();
+            if (pos == engine.getFinish() || turns >= GameEngine.MAX_GILIRAN) {
+                ended = true;
+                gamesFinished.incrementAndGet();
+            } else {
+                current = (current + 1) % players;
+            }
+            long duration = 0;
+            for (int i = 0; i < move.length(); i++) duration += move.isWarp(i) ? stepNanos * 5 / 4 : stepNanos;
+            return Math.max(duration, stepNanos);
+        }
+
+        synchronized GameSnapshot snapshot() {
+            List<Player> list = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) {
+                Color color = PapanUlarTanggaGUI.PLAYER_COLORS[i % PapanUlarTanggaGUI.PLAYER_COLORS.length];
+                Player p = new Player("Pemain " + (i + 1), color);
+                p.setMaxPosition(engine.getFinish());
+                p.setPosition(positions[i]);
+                p.addBonusPoints(points[i]);
+                list.add(p);
+            }
+            return new GameSnapshot(engine.getBoard(), list, current, ended, turns, dice.getState());
+        }
+    }
+
+    /**
+     * Uji beban: {@code java SessionHost [sesi] [detik] [ms per langkah] [pemain]}. Melaporkan
+     * giliran per detik, beban CPU, perkiraan sesi per core pada beban penuh dan persentil latensi.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long stepMillis = args.length > 2 ? Long.parseLong(args[2]) : 400;
+        int players = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        long seed = Long.getLong("ular.seed", 42L);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        BoardModel board = BoardModel.standard(PapanUlarTanggaGUI.UKURAN_PAPAN, new SplitMix64(seed));
+        try (SessionHost host = new SessionHost(board, stepMillis * 1_000_000L, seed)) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < count; i++) host.open(players);
+            System.out.printf("%d sesi dibuka dalam %.1f ms%n", count, (System.nanoTime() - t0) / 1e6);
+
+            // Pemanasan satu detik, lalu pengukuran dimulai dari nol
+            Thread.sleep(1000);
+            host.getTurnLatency().reset();
+            long turns0 = host.getTurnsPlayed();
+            long games0 = host.getGamesFinished();
+            long cpu0 = processCpuNanos();
+            long start = System.nanoTime();
+            Thread.sleep(seconds * 1000L);
+            long wall = System.nanoTime() - start;
+            long cpu = processCpuNanos() - cpu0;
+            long turns = host.getTurnsPlayed() - turns0;
+            long games = host.getGamesFinished() - games0;
+
+            double load = cpu < 0 ? Double.NaN : (double) cpu / wall / cores;
+            System.out.printf("core: %d, sesi per core: %.0f%n", cores, (double) count / cores);
+            System.out.printf("giliran: %.0f/detik, game selesai: %d%n", turns * 1e9 / wall, games);
+            System.out.printf("beban CPU: %.1f%%, perkiraan kapasitas: %.0f sesi per core%n",
+                    load * 100, count / (cores * load));
+            System.out.println("latensi giliran: " + host.getTurnLatency().summary());
+
+            GameSnapshot s = host.snapshot(0);
+            System.out.println("contoh sesi 0: giliran " + s.getTurnsPlayed() + ", pemain ke-" + (s.getCurrentPlayer() + 1));
+        }
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,259 @@
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mixer efek suara perangkat lunak. Semua WAV didekode sekali ke PCM 16-bit stereo di memori,
+ * lalu dicampur oleh satu thread ke satu SourceDataLine dengan jumlah suara (voice) tetap.
+ * {@link #play(int)} hanya menaikkan penghitung atomik, jadi tidak mengalokasi dan tidak
+ * pernah memblokir EDT. Jika semua voice terpakai, kebijakan {@link VoiceStealing} menentukan
+ * suara mana yang dikorbankan.
+ */
+public class SoundMixer {
+
+    public enum VoiceStealing {
+        /** Hentikan voice yang paling lama berbunyi. */
+        OLDEST,
+        /** Hentikan voice yang sisa bunyinya paling sedikit. */
+        NEAREST_END,
+        /** Abaikan pemicu baru. */
+        DROP_NEW
+    }
+
+    private static final float SAMPLE_RATE = 44100f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+    private static final int FRAMES_PER_BUFFER = 512;
+    private static final int MAX_SOUNDS = 32;
+
+    private static SoundMixer shared;
+
+    private final Map<String, CompletableFuture<Integer>> loading = new ConcurrentHashMap<>();
+    private final List<short[]> sounds = new ArrayList<>();
+    private final AtomicIntegerArray pending = new AtomicIntegerArray(MAX_SOUNDS);
+    // Waktu play() terakhir per suara, untuk latensi sampai suara masuk ke buffer mixer
+    private final AtomicLongArray requested = new AtomicLongArray(MAX_SOUNDS);
+    private final GameMetrics metrics = GameMetrics.shared();
+    private volatile VoiceStealing stealing;
+
+    // Hanya disentuh oleh thread mixer
+    private final int[] voiceSound;
+    private final int[] voicePos;
+    private final long[] voiceStarted;
+    private long voiceCounter;
+
+    private SourceDataLine line;
+    private Thread mixerThread;
+    private volatile boolean running;
+
+    public SoundMixer(int voices, VoiceStealing stealing) {
+        this.stealing = stealing;
+        this.voiceSound = new int[voices];
+        this.voicePos = new int[voices];
+        this.voiceStarted = new long[voices];
+        Arrays.fill(voiceSound, -1);
+    }
+
+    // Mixer bersama untuk seluruh proses; jumlah voice dan kebijakan bisa diatur lewat system property
+    public static synchronized SoundMixer shared() {
+        if (shared == null) {
+            shared = new SoundMixer(Integer.getInteger("ular.sfx.voices", 8),
+                    parseStealing(System.getProperty("ular.sfx.stealing", "OLDEST")));
+            shared.start();
+        }
+        return shared;
+    }
+
+    // Nama kebijakan tanpa membedakan huruf besar/kecil; nilai yang salah ketik kembali ke OLDEST
+    static VoiceStealing parseStealing(String name) {
+        for (VoiceStealing v : VoiceStealing.values()) {
+            if (v.name().equalsIgnoreCase(name.trim())) return v;
+        }
+        System.err.println("ular.sfx.stealing tidak dikenal: " + name + " (pilihan "
+                + Arrays.toString(VoiceStealing.values()) + "), memakai OLDEST");
+        return VoiceStealing.OLDEST;
+    }
+
+    public void setVoiceStealing(VoiceStealing stealing) {
+        this.stealing = stealing;
+    }
+
+    /** Mendekode file sekali dan mengembalikan id-nya, atau -1 jika file tidak ada atau rusak. */
+    public int load(String filePath) {
+        return loadAsync(filePath).join();
+    }
+
+    /**
+     * Seperti load(), tetapi dekode berjalan di thread loader AssetManager. Pemanggil yang meminta
+     * file yang sedang didekode mendapat future yang sama, jadi setiap file hanya didekode sekali.
+     */
+    public CompletableFuture<Integer> loadAsync(String filePath) {
+        return loading.computeIfAbsent(filePath,
+                p -> CompletableFuture.supplyAsync(() -> decodeAndRegister(p), AssetManager.loader()));
+    }
+
+    private int decodeAndRegister(String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) return -1;
+        short[] pcm;
+        try {
+            // Dekode di luar kunci supaya thread mixer tidak tertahan
+            pcm = decode(file);
+        } catch (Exception e) {
+            System.err.println("Gagal memuat SFX " + filePath + ": " + e.getMessage());
+            return -1;
+        }
+        synchronized (this) {
+            if (sounds.size() >= MAX_SOUNDS) return -1;
+            sounds.add(pcm);
+            return sounds.size() - 1;
+        }
+    }
+
+    public void play(int id) {
+        if (id >= 0 && running) {
+            requested.set(id, System.nanoTime());
+            pending.incrementAndGet(id);
+        }
+    }
+
+    public void start() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, FRAMES_PER_BUFFER * 4 * 4);
+            line.start();
+        } catch (Exception e) {
+            System.err.println("Perangkat audio tidak tersedia: " + e.getMessage());
+            return;
+        }
+        running = true;
+        mixerThread = new Thread(this::mixLoop, "sfx-mixer");
+        mixerThread.setDaemon(true);
+        mixerThread.setPriority(Thread.MAX_PRIORITY);
+        mixerThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (mixerThread != null) mixerThread.interrupt();
+    }
+
+    private void mixLoop() {
+        int[] acc = new int[FRAMES_PER_BUFFER * 2];
+        byte[] out = new byte[FRAMES_PER_BUFFER * 4];
+        short[][] table = new short[MAX_SOUNDS][];
+        while (running) {
+            int loaded;
+            synchronized (this) {
+                loaded = sounds.size();
+                for (int i = 0; i < loaded; i++) table[i] = sounds.get(i);
+            }
+            for (int id = 0; id < loaded; id++) {
+                int count = pending.getAndSet(id, 0);
+                if (count == 0) continue;
+                metrics.soundEffectLatency().record(System.nanoTime() - requested.get(id));
+                for (int k = 0; k < count && k < voiceSound.length; k++) startVoice(id, table);
+            }
+
+            Arrays.fill(acc, 0);
+            for (int v = 0; v < voiceSound.length; v++) {
+                int id = voiceSound[v];
+                if (id < 0) continue;
+                short[] pcm = table[id];
+                int pos = voicePos[v];
+                int n = Math.min(acc.length, pcm.length - pos);
+                for (int i = 0; i < n; i++) acc[i] += pcm[pos + i];
+                voicePos[v] = pos + n;
+                if (voicePos[v] >= pcm.length) voiceSound[v] = -1;
+            }
+            for (int i = 0; i < acc.length; i++) {
+                int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, acc[i]));
+                out[i * 2] = (byte) s;
+                out[i * 2 + 1] = (byte) (s >> 8);
+            }
+            line.write(out, 0, out.length);
+        }
+        line.drain();
+        line.close();
+    }
+
+    private void startVoice(int id, short[][] table) {
+        int slot = -1;
+        for (int v = 0; v < voiceSound.length; v++) {
+            if (voiceSound[v] < 0) {
+                slot = v;
+                break;
+            }
+        }
+        if (slot < 0) {
+            switch (stealing) {
+                case DROP_NEW:
+                    return;
+                case OLDEST:
+                    slot = 0;
+                    for (int v = 1; v < voiceSound.length; v++) {
+                        if (voiceStarted[v] < voiceStarted[slot]) slot = v;
+                    }
+                    break;
+                case NEAREST_END:
+                    slot = 0;
+                    for (int v = 1; v < voiceSound.length; v++) {
+                        if (remaining(v, table) < remaining(slot, table)) slot = v;
+                    }
+                    break;
+            }
+        }
+        voiceSound[slot] = id;
+        voicePos[slot] = 0;
+        voiceStarted[slot] = voiceCounter++;
+    }
+
+    private int remaining(int voice, short[][] table) {
+        return table[voiceSound[voice]].length - voicePos[voice];
+    }
+
+    // Dekode ke PCM 16-bit little-endian dengan format asli, lalu ubah ke stereo 44,1 kHz
+    private static short[] decode(File file) throws Exception {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat src = source.getFormat();
+            AudioFormat pcmFormat = new AudioFormat(src.getSampleRate(), 16, src.getChannels(), true, false);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+                byte[] buf = new byte[8192];
+                int r;
+                while ((r = pcm.read(buf)) > 0) bytes.write(buf, 0, r);
+            }
+            byte[] raw = bytes.toByteArray();
+            int channels = src.getChannels();
+            int frames = raw.length / (2 * channels);
+            double ratio = src.getSampleRate() / SAMPLE_RATE;
+            int outFrames = (int) (frames / ratio);
+            short[] out = new short[outFrames * 2];
+            for (int f = 0; f < outFrames; f++) {
+                double at = f * ratio;
+                int i0 = (int) at;
+                int i1 = Math.min(frames - 1, i0 + 1);
+                double frac = at - i0;
+                for (int c = 0; c < 2; c++) {
+                    int ch = Math.min(c, channels - 1);
+                    double a = sample(raw, i0, ch, channels);
+                    double b = sample(raw, i1, ch, channels);
+                    out[f * 2 + c] = (short) Math.round(a + (b - a) * frac);
+                }
+            }
+            return out;
+        }
+    }
+
+    private static short sample(byte[] raw, int frame, int channel, int channels) {
+        int i = (frame * channels + channel) * 2;
+        return (short) ((raw[i] & 0xFF) | (raw[i + 1] << 8));
+    }
+}
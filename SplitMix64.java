@@ -0,0 +1,33 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator acak SplitMix64 dengan state satu long yang bisa dibaca dan dipulihkan, sehingga
+ * posisi generator ikut tersimpan di GameSnapshot dan permainan yang dilanjutkan mendapat urutan
+ * dadu yang sama persis seperti jika tidak pernah berhenti.
+ */
+public final class SplitMix64 implements RandomGenerator {
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}